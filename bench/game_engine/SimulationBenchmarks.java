@@ -0,0 +1,237 @@
+package game_engine;
+
+import game_content.GameField;
+import game_objects.movables.Bullet;
+import game_objects.movables.Direction;
+import game_objects.movables.EnemyBullet;
+import game_objects.movables.Tank;
+import map_tools.Level;
+import map_tools.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import resources_classes.SpriteAtlas;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the simulation hot paths on every level. Run without a display, every benchmark in its own JVM:
+ * {@code mvn test-compile exec:exec -Djmh.args="[filter] [JMH options]"}, for example {@code -Djmh.args="Wall -f 2"}.
+ * <p>
+ * Benchmarks of a world start every iteration from a fresh world that has already played {@link #WARMUP_TICKS} ticks,
+ * so enemies are on the field. Bullet storms destroy walls during an iteration just like a real firefight would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmarks {
+
+	/**
+	 * Ticks played before measuring, so enough enemies have spawned
+	 */
+	private static final int WARMUP_TICKS = 600;
+	/**
+	 * Ticks measured from every fresh world by {@link #tick(FreshWorld)}
+	 */
+	private static final int TICK_BATCH = 250;
+	/**
+	 * Number of bullets kept in flight by the storm benchmark
+	 */
+	private static final int STORM_SIZE = 200;
+	/**
+	 * Respawns of the standing player tank, so the game doesn't end by losing it
+	 */
+	private static final int RESPAWNS = 1000;
+	private static final long SEED = 42;
+
+	@State(Scope.Benchmark)
+	public static class Sprite {
+
+		BufferedImage image;
+
+		@Setup
+		public void read() {
+			SpriteAtlas.preload();
+			try {
+				image = ImageIO.read(new File("resources/sprites/enemy_tank/tank_north.png"));
+			} catch (IOException e) {
+				throw new IllegalStateException("Can't read the sprite", e);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class LevelState {
+
+		@Param({"FIRST", "SECOND", "THIRD", "FOURTH", "FIFTH", "SIXTH", "SEVENTH", "EIGHTH", "NINTH", "TENTH"})
+		public Level level;
+		Map map;
+
+		@Setup
+		public void loadMap() {
+			map = Map.getLevelMap(level);
+		}
+
+		/**
+		 * @return world of the level that has played {@link #WARMUP_TICKS} ticks. Enemies drive at random, the ones
+		 * seeking the base would end the game before that
+		 */
+		GameWorld warmedWorld() {
+			GameWorld world = new GameWorld(level, Map.getLevelMap(level), RESPAWNS, SEED);
+			world.setControllers(RandomTankController::new);
+			for (int i = 0; i < WARMUP_TICKS; i++)
+				world.tick();
+			checkRunning(world);
+			world.refreshTanks();
+			return world;
+		}
+	}
+
+	/**
+	 * Measurements of a game that has ended are worthless, it does nothing on a tick
+	 */
+	private static void checkRunning(GameWorld world) {
+		if (world.isOver())
+			throw new IllegalStateException(world.getLevel() + " is over at tick " + world.getTick());
+	}
+
+	/**
+	 * World shared by all the invocations of an iteration
+	 */
+	@State(Scope.Thread)
+	public static class WorldState extends LevelState {
+
+		final Random random = new Random(SEED);
+		GameWorld world;
+		Tank[] tanks;
+
+		@Setup(org.openjdk.jmh.annotations.Level.Iteration)
+		public void newWorld() {
+			world = warmedWorld();
+			tanks = world.getTanks().toArray(new Tank[0]);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ParallelWorldState extends WorldState {
+
+		/**
+		 * Setups of a subclass may run before the ones of its superclass, so the world is configured here
+		 */
+		@Override
+		public void newWorld() {
+			super.newWorld();
+			world.setParallelDecisionsThreshold(0);
+		}
+	}
+
+	/**
+	 * New world for every invocation, so the ticks are never measured on a game that has ended
+	 */
+	@State(Scope.Thread)
+	public static class FreshWorld extends LevelState {
+
+		GameWorld world;
+
+		@Setup(org.openjdk.jmh.annotations.Level.Invocation)
+		public void newWorld() {
+			world = warmedWorld();
+		}
+	}
+
+	@Benchmark
+	public int spriteScale(Sprite sprite) {
+		return SpriteAtlas.scale(sprite.image, GameField.SCALE).getWidth();
+	}
+
+	@Benchmark
+	public int mapConstruction(LevelState state) {
+		return Map.getLevelMap(state.level).getBase().getX();
+	}
+
+	@Benchmark
+	public int flowField(LevelState state) {
+		return new FlowField(state.map).getDistance(0, 0);
+	}
+
+	@Benchmark
+	public long checkWallCollisions(WorldState state) {
+		long collisions = 0;
+		for (Tank tank : state.tanks)
+			if (state.world.checkWallCollisions(tank))
+				collisions++;
+		return collisions;
+	}
+
+	@Benchmark
+	public long checkTankCollisions(WorldState state) {
+		long collisions = 0;
+		for (Tank tank : state.tanks)
+			if (state.world.checkTankCollisions(tank))
+				collisions++;
+		return collisions;
+	}
+
+	/**
+	 * Fill the field with bullets flying in random directions and move them once
+	 */
+	@Benchmark
+	public int updateBulletsStorm(WorldState state) {
+		GameWorld world = state.world;
+		Pool<EnemyBullet> pool = world.getEnemyBulletPool();
+		Direction[] directions = Direction.values();
+		int missing = STORM_SIZE - world.getBullets().size();
+		for (int i = 0; i < missing; i++) {
+			Bullet bullet = pool.obtain();
+			int x = state.random.nextInt(GameField.FIELD_DIMENSIONS - Bullet.HEIGHT);
+			int y = state.random.nextInt(GameField.FIELD_DIMENSIONS - Bullet.HEIGHT);
+			bullet.reset(x, y, directions[state.random.nextInt(directions.length)], 2);
+			world.addBullet(bullet);
+		}
+		world.updateBullets();
+		world.removeDestroyed();
+		world.updateExplosions();
+		return world.getBullets().size();
+	}
+
+	@Benchmark
+	public long decideEnemies(WorldState state) {
+		state.world.decideEnemies();
+		return state.world.getTick();
+	}
+
+	@Benchmark
+	public long decideEnemiesParallel(ParallelWorldState state) {
+		state.world.decideEnemies();
+		return state.world.getTick();
+	}
+
+	/**
+	 * Whole ticks, scored per tick
+	 */
+	@Benchmark
+	@OperationsPerInvocation(TICK_BATCH)
+	public long tick(FreshWorld state) {
+		GameWorld world = state.world;
+		for (int i = 0; i < TICK_BATCH; i++)
+			world.tick();
+		checkRunning(world);
+		return world.getTick();
+	}
+}
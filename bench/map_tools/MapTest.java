@@ -0,0 +1,66 @@
+package map_tools;
+
+import game_objects.movables.Bullet;
+import game_objects.movables.Direction;
+import org.junit.Test;
+
+import static game_content.GameField.BYTE;
+import static game_content.GameField.MAP_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MapTest {
+
+	private static final int TANK = 2 * BYTE;
+
+	/**
+	 * Map with a brick wall one tile thick and two tiles long at the column, rows 10 and 11
+	 */
+	private static Map doubleWall(int column) {
+		byte[] kinds = new byte[MAP_SIZE * MAP_SIZE];
+		kinds[10 * MAP_SIZE + column] = Map.BRICK;
+		kinds[11 * MAP_SIZE + column] = Map.BRICK;
+		return new Map(kinds);
+	}
+
+	/**
+	 * A tank standing on the grid in front of the wall fires east from its centre
+	 */
+	@Test
+	public void centredShotOpensLaneForTank() {
+		Map map = doubleWall(4);
+		int tankX = 2 * BYTE, tankY = 10 * BYTE;
+		int bulletY = tankY + TANK / 2 - Bullet.WIDTH / 2;
+		assertTrue(map.collides(tankX + BYTE, tankY, TANK, TANK));
+
+		//First position of the flight where the bullet touches the wall
+		int bulletX = 4 * BYTE - Bullet.HEIGHT + 1;
+		assertTrue(map.destroyIntersecting(bulletX, bulletY, Bullet.HEIGHT, Bullet.WIDTH, Direction.EAST));
+
+		for (int x = tankX; x <= 5 * BYTE; x++)
+			assertFalse("Tank at x " + x, map.collides(x, tankY, TANK, TANK));
+	}
+
+	/**
+	 * The blast follows the bullet when the tank isn't on the grid
+	 */
+	@Test
+	public void offGridShotOpensLaneForTank() {
+		Map map = doubleWall(4);
+		int tankY = 10 * BYTE - 5;
+		int bulletY = tankY + TANK / 2 - Bullet.WIDTH / 2;
+		int bulletX = 4 * BYTE - Bullet.HEIGHT + 1;
+		assertTrue(map.destroyIntersecting(bulletX, bulletY, Bullet.HEIGHT, Bullet.WIDTH, Direction.EAST));
+
+		assertFalse(map.collides(4 * BYTE, tankY, BYTE, TANK));
+	}
+
+	@Test
+	public void missDestroysNothing() {
+		Map map = doubleWall(4);
+		assertFalse(map.destroyIntersecting(2 * BYTE, 10 * BYTE, Bullet.HEIGHT, Bullet.WIDTH, Direction.EAST));
+		assertEquals(Map.WHOLE_BRICK, map.getBricks(4, 10));
+		assertEquals(Map.WHOLE_BRICK, map.getBricks(4, 11));
+	}
+}
@@ -0,0 +1,300 @@
+package env;
+
+import game_engine.EventBatch;
+import game_engine.GameEvent;
+import game_engine.GameEventListener;
+import game_engine.GameRules;
+import game_engine.GameWorld;
+import game_engine.PlayerInput;
+import game_objects.Sprite;
+import game_objects.map_objects.powerups.PowerUp;
+import game_objects.movables.Bullet;
+import game_objects.movables.Direction;
+import game_objects.movables.EnemyBullet;
+import game_objects.movables.EnemyTank;
+import game_objects.movables.PlayerTank;
+import game_objects.movables.Tank;
+import map_tools.Level;
+import map_tools.Map;
+
+import java.nio.ByteBuffer;
+
+import static game_content.GameField.BYTE;
+import static game_content.GameField.MAP_SIZE;
+
+/**
+ * The game as an environment for training agents: {@link #reset(long)} starts a new game, {@link #step(int)} applies
+ * an action of the player, advances the world and returns the reward.
+ * <p>
+ * The observation is a grid of {@link #MAP_SIZE} x {@link #MAP_SIZE} tiles with {@link #CHANNELS} bytes per tile,
+ * row by row, written into the same buffer on every step. Channels are listed as the CHANNEL constants. Brick
+ * channel holds the number of standing quarters of the wall, the other ones 1 where there is such a thing on the
+ * tile. Steps don't allocate anything for the observation.
+ */
+public class TankEnv implements GameEventListener {
+
+	public static final int CHANNEL_BRICK = 0;
+	public static final int CHANNEL_STEEL = 1;
+	public static final int CHANNEL_WATER = 2;
+	public static final int CHANNEL_COVER = 3;
+	public static final int CHANNEL_BASE = 4;
+	public static final int CHANNEL_PLAYER = 5;
+	public static final int CHANNEL_ENEMY = 6;
+	public static final int CHANNEL_PLAYER_BULLET = 7;
+	public static final int CHANNEL_ENEMY_BULLET = 8;
+	public static final int CHANNEL_POWER_UP = 9;
+	public static final int CHANNELS = 10;
+	/**
+	 * Bytes of one observation
+	 */
+	public static final int OBSERVATION_BYTES = MAP_SIZE * MAP_SIZE * CHANNELS;
+
+	/**
+	 * Actions: do nothing, drive west, east, north or south, stop, fire, and drive in one of the directions and fire
+	 */
+	public static final int NOOP = 0;
+	public static final int STOP = 5;
+	public static final int FIRE = 6;
+	public static final int ACTIONS = 11;
+	private static final Direction[] DIRECTIONS = {Direction.WEST, Direction.EAST, Direction.NORTH, Direction.SOUTH};
+	private static final PlayerInput[] DIRECTION_INPUTS = {PlayerInput.WEST, PlayerInput.EAST, PlayerInput.NORTH,
+			PlayerInput.SOUTH};
+
+	public static final float ENEMY_DESTROYED_REWARD = 1;
+	public static final float PLAYER_DESTROYED_REWARD = -1;
+	public static final float LEVEL_WON_REWARD = 5;
+	public static final float GAME_LOST_REWARD = -5;
+
+	private static final int RESPAWNS = 3;
+	/**
+	 * Empty observation, the buffer is cleared with it in one bulk copy
+	 */
+	private static final byte[] ZEROS = new byte[OBSERVATION_BYTES];
+
+	private final Level level;
+	private final GameRules rules;
+	private final int ticksPerStep;
+	private final long maxSteps;
+	private final ByteBuffer observation;
+	private final byte[] kinds = new byte[MAP_SIZE * MAP_SIZE];
+	private final byte[] bricks = new byte[MAP_SIZE * MAP_SIZE];
+
+	private GameWorld world;
+	/**
+	 * Direction the tank was last told to drive in, null if it stands
+	 */
+	private Direction driving;
+	private PlayerTank tank;
+	private float reward;
+	private long steps;
+	private boolean terminated;
+
+	/**
+	 * Environment with the normal rules, one tick per step and its own observation buffer
+	 *
+	 * @param level level of every game, null to take one by the seed
+	 */
+	public TankEnv(Level level) {
+		this(level, new GameRules(), 1, Long.MAX_VALUE, ByteBuffer.allocateDirect(OBSERVATION_BYTES));
+	}
+
+	/**
+	 * @param level        level of every game, null to take one by the seed
+	 * @param ticksPerStep ticks the action is repeated for on every step
+	 * @param maxSteps     steps after which the game is cut off
+	 * @param observation  buffer the observation is written into from its position on, at least
+	 *                     {@link #OBSERVATION_BYTES} long
+	 */
+	public TankEnv(Level level, GameRules rules, int ticksPerStep, long maxSteps, ByteBuffer observation) {
+		if (observation.remaining() < OBSERVATION_BYTES)
+			throw new IllegalArgumentException("Observation buffer is too small: " + observation.remaining());
+		this.level = level;
+		this.rules = new GameRules(rules);
+		this.ticksPerStep = ticksPerStep;
+		this.maxSteps = maxSteps;
+		this.observation = observation.slice();
+	}
+
+	/**
+	 * Start a new game
+	 *
+	 * @param seed seed of the game, also chooses the level if none was given
+	 * @return the first observation
+	 */
+	public ByteBuffer reset(long seed) {
+		Level[] levels = Level.values();
+		Level played = level != null ? level : levels[(int) Math.floorMod(seed, (long) levels.length)];
+		world = new GameWorld(played, Map.getLevelMap(played), 1, RESPAWNS, seed, rules);
+		world.getEvents().subscribe(this);
+		driving = null;
+		tank = null;
+		steps = 0;
+		terminated = false;
+		observe();
+		return observation;
+	}
+
+	/**
+	 * Apply the action and advance the world by {@link #ticksPerStep} ticks
+	 *
+	 * @param action from 0 to {@link #ACTIONS} - 1
+	 * @return reward of the step
+	 */
+	public float step(int action) {
+		if (world == null)
+			throw new IllegalStateException("Environment must be reset first");
+		if (action < 0 || action >= ACTIONS)
+			throw new IllegalArgumentException("Action: " + action);
+		reward = 0;
+		if (!terminated) {
+			applyAction(action);
+			for (int i = 0; i < ticksPerStep && !world.isOver(); i++)
+				world.tick();
+			terminated = world.isOver();
+			steps++;
+		}
+		observe();
+		return reward;
+	}
+
+	private void applyAction(int action) {
+		PlayerTank current = world.getPlayerTank();
+		//New tank after a respawn stands still
+		if (current != tank) {
+			tank = current;
+			driving = null;
+		}
+		if (action >= 1 && action <= 4) {
+			drive(DIRECTIONS[action - 1]);
+		} else if (action == STOP) {
+			if (driving != null) {
+				world.input(PlayerInput.STOP_HORIZONTAL);
+				world.input(PlayerInput.STOP_VERTICAL);
+				driving = null;
+			}
+		} else if (action > FIRE) {
+			drive(DIRECTIONS[action - FIRE - 1]);
+		}
+		if (action >= FIRE)
+			world.input(PlayerInput.FIRE);
+	}
+
+	/**
+	 * Inputs are sent only when the direction changes, the tank keeps driving by itself
+	 */
+	private void drive(Direction direction) {
+		if (direction != driving) {
+			world.input(DIRECTION_INPUTS[direction.ordinal()]);
+			driving = direction;
+		}
+	}
+
+	@Override
+	public void onEvents(EventBatch events) {
+		for (int i = 0; i < events.size(); i++) {
+			switch (events.getType(i)) {
+				case TANK_DESTROYED:
+					reward += events.getValue(i) == GameEvent.ENEMY ? ENEMY_DESTROYED_REWARD : PLAYER_DESTROYED_REWARD;
+					break;
+				case LEVEL_WON:
+					reward += LEVEL_WON_REWARD;
+					break;
+				case GAME_LOST:
+					reward += GAME_LOST_REWARD;
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Write the grid of the current world into the observation buffer
+	 */
+	private void observe() {
+		observation.position(0);
+		observation.put(ZEROS);
+		observation.position(0);
+		world.getMap().copyTiles(kinds, bricks);
+		for (int tile = 0; tile < kinds.length; tile++) {
+			int offset = tile * CHANNELS;
+			switch (kinds[tile]) {
+				case Map.BRICK:
+					observation.put(offset + CHANNEL_BRICK, (byte) Integer.bitCount(bricks[tile]));
+					break;
+				case Map.STEEL:
+					observation.put(offset + CHANNEL_STEEL, (byte) 1);
+					break;
+				case Map.WATER:
+					observation.put(offset + CHANNEL_WATER, (byte) 1);
+					break;
+				case Map.COVER:
+					observation.put(offset + CHANNEL_COVER, (byte) 1);
+					break;
+			}
+		}
+		mark(world.getBase(), CHANNEL_BASE);
+		for (Tank t : world.getTanks())
+			mark(t, t instanceof EnemyTank ? CHANNEL_ENEMY : CHANNEL_PLAYER);
+		for (Bullet b : world.getBullets())
+			mark(b, b instanceof EnemyBullet ? CHANNEL_ENEMY_BULLET : CHANNEL_PLAYER_BULLET);
+		for (PowerUp p : world.getPowerUps())
+			mark(p, CHANNEL_POWER_UP);
+	}
+
+	/**
+	 * Set the channel on all the tiles the sprite touches
+	 */
+	private void mark(Sprite sprite, int channel) {
+		if (!sprite.isVisible())
+			return;
+		int fromColumn = clamp(sprite.getX() / BYTE);
+		int toColumn = clamp((sprite.getX() + sprite.getWidth() - 1) / BYTE);
+		int fromRow = clamp(sprite.getY() / BYTE);
+		int toRow = clamp((sprite.getY() + sprite.getHeight() - 1) / BYTE);
+		for (int row = fromRow; row <= toRow; row++)
+			for (int column = fromColumn; column <= toColumn; column++)
+				observation.put((row * MAP_SIZE + column) * CHANNELS + channel, (byte) 1);
+	}
+
+	private static int clamp(int cell) {
+		return Math.max(0, Math.min(MAP_SIZE - 1, cell));
+	}
+
+	/**
+	 * @return buffer with the latest observation, from 0 to {@link #OBSERVATION_BYTES}
+	 */
+	public ByteBuffer getObservation() {
+		return observation;
+	}
+
+	/**
+	 * @return true when the game is over or cut off, the environment must be reset then
+	 */
+	public boolean isDone() {
+		return terminated || isTruncated();
+	}
+
+	/**
+	 * @return true if the game has ended by itself
+	 */
+	public boolean isTerminated() {
+		return terminated;
+	}
+
+	/**
+	 * @return true if the game was cut off after the maximum number of steps
+	 */
+	public boolean isTruncated() {
+		return !terminated && steps >= maxSteps;
+	}
+
+	public long getSteps() {
+		return steps;
+	}
+
+	/**
+	 * @return world of the current game
+	 */
+	public GameWorld getWorld() {
+		return world;
+	}
+}
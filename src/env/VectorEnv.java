@@ -0,0 +1,207 @@
+package env;
+
+import game_engine.GameRules;
+import map_tools.Level;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Several {@link TankEnv}s stepped together. Their observations lie one after another in one direct buffer, rewards
+ * and done flags in arrays, all of them reused on every step. The environments are stepped in parallel on a fork-join
+ * pool, each one on a single thread.
+ * <p>
+ * An environment that is done is reset at once with its next seed, so after a step its observation is the first one
+ * of the new game, while its done flag and reward are still those of the game that has ended.
+ * <p>
+ * Usage: {@code VectorEnv [environments] [seconds] [ticks per step]} measures steps per second with random actions.
+ */
+public class VectorEnv {
+
+	/**
+	 * Number of environments stepped by one task of the pool
+	 */
+	private static final int BATCH = 4;
+
+	private final TankEnv[] envs;
+	private final ByteBuffer observations;
+	private final float[] rewards;
+	private final boolean[] dones;
+	/**
+	 * Games each environment has started, its seeds are base seed + games * count + index
+	 */
+	private final long[] games;
+	private final ForkJoinPool pool;
+	/**
+	 * Tasks that step {@link #BATCH} environments each and the task that runs them all, built once and reused on
+	 * every step
+	 */
+	private final Batch[] batches;
+	private final RecursiveAction allBatches = new AllBatches();
+	private long baseSeed;
+	private int[] actions;
+
+	/**
+	 * @param count        number of environments
+	 * @param level        level of every game, null to take one by the seed
+	 * @param ticksPerStep ticks an action is repeated for on every step
+	 * @param maxSteps     steps after which a game is cut off
+	 * @param pool         pool the environments are stepped on
+	 */
+	public VectorEnv(int count, Level level, GameRules rules, int ticksPerStep, long maxSteps, ForkJoinPool pool) {
+		this.pool = pool;
+		envs = new TankEnv[count];
+		observations = ByteBuffer.allocateDirect(count * TankEnv.OBSERVATION_BYTES);
+		for (int i = 0; i < count; i++) {
+			observations.position(i * TankEnv.OBSERVATION_BYTES);
+			envs[i] = new TankEnv(level, rules, ticksPerStep, maxSteps, observations);
+		}
+		observations.clear();
+		rewards = new float[count];
+		dones = new boolean[count];
+		games = new long[count];
+		batches = new Batch[(count + BATCH - 1) / BATCH];
+		for (int b = 0; b < batches.length; b++)
+			batches[b] = new Batch(b * BATCH, Math.min(count, (b + 1) * BATCH));
+	}
+
+	/**
+	 * Start new games in all the environments
+	 *
+	 * @param seed seed of the first environment, the others get the following ones
+	 * @return observations of all the environments
+	 */
+	public ByteBuffer reset(long seed) {
+		baseSeed = seed;
+		for (int i = 0; i < envs.length; i++) {
+			games[i] = 0;
+			envs[i].reset(seedOf(i));
+		}
+		return observations;
+	}
+
+	/**
+	 * Step every environment with its action
+	 *
+	 * @param actions one action for every environment, see {@link TankEnv}
+	 */
+	public void step(int[] actions) {
+		if (actions.length != envs.length)
+			throw new IllegalArgumentException("Actions: " + actions.length + ", environments: " + envs.length);
+		this.actions = actions;
+		if (pool.getParallelism() == 1 || envs.length <= BATCH) {
+			step(0, envs.length);
+		} else {
+			allBatches.reinitialize();
+			pool.invoke(allBatches);
+		}
+		this.actions = null;
+	}
+
+	private void step(int from, int to) {
+		for (int i = from; i < to; i++) {
+			TankEnv env = envs[i];
+			rewards[i] = env.step(actions[i]);
+			dones[i] = env.isDone();
+			if (dones[i]) {
+				games[i]++;
+				env.reset(seedOf(i));
+			}
+		}
+	}
+
+	private long seedOf(int i) {
+		return baseSeed + games[i] * envs.length + i;
+	}
+
+	/**
+	 * @return observations of all the environments one after another, {@link TankEnv#OBSERVATION_BYTES} each
+	 */
+	public ByteBuffer getObservations() {
+		return observations;
+	}
+
+	/**
+	 * @return rewards of the last step, must not be modified
+	 */
+	public float[] getRewards() {
+		return rewards;
+	}
+
+	/**
+	 * @return done flags of the last step, must not be modified
+	 */
+	public boolean[] getDones() {
+		return dones;
+	}
+
+	public int size() {
+		return envs.length;
+	}
+
+	public TankEnv get(int i) {
+		return envs[i];
+	}
+
+	private class Batch extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		Batch(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			step(from, to);
+		}
+	}
+
+	private class AllBatches extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void compute() {
+			for (Batch batch : batches)
+				batch.reinitialize();
+			invokeAll(batches);
+		}
+	}
+
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 4 * Runtime.getRuntime().availableProcessors();
+		long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+		int ticksPerStep = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+		VectorEnv env = new VectorEnv(count, null, new GameRules(), ticksPerStep, 10_000, ForkJoinPool.commonPool());
+		env.reset(0);
+		Random random = new Random(0);
+		int[] actions = new int[count];
+		long steps = 0, games = 0;
+		double reward = 0;
+		long start = System.nanoTime();
+		long end = start + seconds * 1_000_000_000L;
+		while (System.nanoTime() - end < 0) {
+			for (int i = 0; i < count; i++)
+				actions[i] = random.nextInt(TankEnv.ACTIONS);
+			env.step(actions);
+			for (int i = 0; i < count; i++) {
+				reward += env.getRewards()[i];
+				if (env.getDones()[i])
+					games++;
+			}
+			steps += count;
+		}
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%d environments: %d steps in %.2f s (%.0f steps/s), %d games done, mean reward per game %.2f%n",
+				count, steps, elapsed, steps / elapsed, games, games == 0 ? 0 : reward / games);
+	}
+}
@@ -0,0 +1,69 @@
+package game_content;
+
+import java.awt.*;
+import java.util.Arrays;
+
+import static game_content.GameField.BYTE;
+import static game_content.GameField.MAP_SIZE;
+
+/**
+ * Parts of the game field that must be redrawn, tracked with the precision of one map tile.
+ * Dirty tiles are merged into horizontal runs, so every run is redrawn with one clip.
+ */
+class DirtyGrid {
+
+	private final boolean[] cells = new boolean[MAP_SIZE * MAP_SIZE];
+	private final Rectangle run = new Rectangle();
+	private int row;
+	private int column;
+
+	/**
+	 * Mark every tile under the rectangle
+	 */
+	void mark(int x, int y, int width, int height) {
+		if (width <= 0 || height <= 0)
+			return;
+		int firstColumn = toCell(x), lastColumn = toCell(x + width - 1);
+		int firstRow = toCell(y), lastRow = toCell(y + height - 1);
+		for (int r = firstRow; r <= lastRow; r++)
+			for (int c = firstColumn; c <= lastColumn; c++)
+				cells[r * MAP_SIZE + c] = true;
+	}
+
+	/**
+	 * @param index index of the tile: row * MAP_SIZE + column
+	 */
+	void markTile(int index) {
+		cells[index] = true;
+	}
+
+	void markAll() {
+		Arrays.fill(cells, true);
+	}
+
+	/**
+	 * Find the next run of dirty tiles and clear it. Rectangle is reused, so it must not be stored
+	 *
+	 * @return bounds of the run in pixels or null when there are no dirty tiles left
+	 */
+	Rectangle nextRun() {
+		for (; row < MAP_SIZE; row++, column = 0) {
+			for (; column < MAP_SIZE; column++) {
+				if (cells[row * MAP_SIZE + column]) {
+					int start = column;
+					while (column < MAP_SIZE && cells[row * MAP_SIZE + column])
+						cells[row * MAP_SIZE + column++] = false;
+					run.setBounds(start * BYTE, row * BYTE, (column - start) * BYTE, BYTE);
+					return run;
+				}
+			}
+		}
+		row = 0;
+		column = 0;
+		return null;
+	}
+
+	private static int toCell(int coordinate) {
+		return Math.max(0, Math.min(MAP_SIZE - 1, Math.floorDiv(coordinate, BYTE)));
+	}
+}
@@ -1,29 +1,37 @@
 package game_content;
 
-import game_objects.Destructible;
-import game_objects.map_objects.MapObject;
-import game_objects.map_objects.impassables.Base;
+import game_engine.EventBatch;
+import game_engine.FrameProfiler;
+import game_engine.GameEvent;
+import game_engine.GameEventListener;
+import game_engine.GameSession;
+import game_engine.GameWorld;
+import game_engine.PlayerInput;
+import game_engine.RenderSnapshot;
+import game_engine.TickScheduler;
 import game_objects.map_objects.powerups.PowerUp;
-import game_objects.map_objects.turf.Explosion;
-import game_objects.movables.*;
-import javafx.scene.media.AudioClip;
-import jdk.internal.util.xml.impl.Pair;
 import map_tools.Level;
 import map_tools.Map;
-import resources_classes.GameSound;
+import network.VersusClient;
+import network.VersusHost;
+import resources_classes.RenderingPipeline;
+import resources_classes.SoundEffects;
 
 import javax.swing.*;
-import javax.swing.Timer;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.*;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-
-public class GameField extends JPanel implements Runnable {
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Canvas the game is actively rendered on. The world is advanced in fixed ticks, frames are drawn as often as the
+ * display refreshes, with moving objects placed between their positions of the last two ticks
+ */
+public class GameField extends Canvas implements Runnable {
 
 	/**
 	 * Scale (for resize)
@@ -57,403 +65,358 @@ public class GameField extends JPanel implements Runnable {
 	 * How many frames it takes for tenth second to pass
 	 */
 	public static final int TENTH_OF_SECOND = 100 / DELAY;
+	/**
+	 * Maximum number of ticks performed between two repaints when the game falls behind
+	 */
+	private static final int MAX_CATCH_UP_TICKS = 5;
+	/**
+	 * System property with the number of frames per second, the refresh rate of the display if not set
+	 */
+	public static final String FPS_PROPERTY = "tankwar.fps";
+	/**
+	 * Frames per second when the refresh rate of the display is unknown
+	 */
+	private static final int DEFAULT_FPS = 60;
+	/**
+	 * Number of buffers of the buffer strategy
+	 */
+	private static final int BUFFERS = 2;
+	/**
+	 * Key that shows and hides the profiler
+	 */
+	private static final int PROFILER_KEY = KeyEvent.VK_F3;
+	/**
+	 * Key that starts and stops recording of the profiler into a CSV file
+	 */
+	private static final int PROFILER_CSV_KEY = KeyEvent.VK_F4;
+	private static final Font PROFILER_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+	private static final Color PROFILER_BACKGROUND = new Color(0, 0, 0, 170);
 
-	private Set<Explosion> explosions;
-	private Set<Tank> tanks;
-	private Set<Bullet> bullets;
-	private Set<PowerUp> powerUps;
-	private Base base;
-	private Map map;
-	private PlayerTank playerTank;
-	private int tankAmount;
+	/**
+	 * Local world or a versus game over the network
+	 */
+	private GameSession session;
+	/**
+	 * Tasks of the window, advanced together with the session on the animator thread, so they stop with the game
+	 */
+	private final TickScheduler scheduler = new TickScheduler();
 
 	private Thread animator;
 	private GameFieldPanel gameFieldPanel;
-	private Timer endTimer;
-	private Timer timeStopTimer;
-	private Random rand;
-	private boolean timeStopped;
-	private AudioClip[] timeStoppedSounds = new AudioClip[2];
+	private volatile boolean profilerShown;
+	private BufferStrategy strategy;
+	/**
+	 * Configuration of the screen, taken when the canvas is added, because asking the canvas for it from the animator
+	 * takes the AWT tree lock
+	 */
+	private GraphicsConfiguration configuration;
+	/**
+	 * Java2D pipeline that draws the game, shown in the profiler
+	 */
+	private String pipeline = RenderingPipeline.describe(null);
+	private long framePeriod;
+	/**
+	 * Time the last frame was shown, 0 before the first one
+	 */
+	private long lastFrame;
+
+	/**
+	 * Volatile image in video memory when there is a screen
+	 */
+	private Image frame;
+	private TerrainLayer terrain;
+	private final DirtyGrid dirty = new DirtyGrid();
+	private SpriteList sprites = new SpriteList();
+	private SpriteList previousSprites = new SpriteList();
+	/**
+	 * Index of the first sprite that is drawn over the cover
+	 */
+	private int coverIndex;
 
 	public GameField(Level level, GameFieldPanel gameFieldPanel) {
+		this(level, Map.getLevelMap(level), gameFieldPanel);
+	}
+
+	/**
+	 * @param map new map of the level, loaded beforehand
+	 */
+	public GameField(Level level, Map map, GameFieldPanel gameFieldPanel) {
 		this.gameFieldPanel = gameFieldPanel;
-		initGameField(level);
+		initGameField(level, map);
 	}
 
 	/**
 	 * Initialization method
 	 */
-	private void initGameField(Level level) {
+	private void initGameField(Level level, Map map) {
 		setBackground(Color.BLACK);
 		setPreferredSize(new Dimension(FIELD_DIMENSIONS, FIELD_DIMENSIONS));
 		setFocusable(true);
-		initMap(level);
+		//Everything is drawn by the animator
+		setIgnoreRepaint(true);
+		initMap(level, map);
 
 	}
 
-	private void initMap(Level level) {
+	private void initMap(Level level, Map map) {
 		addKeyListener(new Adapter());
-		map = Map.getLevelMap(level);
-		base = map.getBase();
-		explosions = ConcurrentHashMap.newKeySet();
-		tanks = ConcurrentHashMap.newKeySet();
-		spawnPlayerTank();
-		rand = new Random();
-		bullets = ConcurrentHashMap.newKeySet();
-		powerUps = ConcurrentHashMap.newKeySet();
-		Timer spawnTimer = new Timer(2000, e -> {
-			spawnEnemyTank();
-		});
-		spawnTimer.start();
-		spawnEnemyTank();
+		session = openSession(level, map);
+		session.getEvents().subscribe(new Listener());
 	}
 
-	private void spawnPlayerTank() {
-		tanks.removeIf(tank -> tank instanceof PlayerTank);
-		playerTank = new PlayerTank(8 * BYTE, 24 * BYTE, Direction.NORTH);
-		tanks.add(playerTank);
-	}
-
-	private void spawnEnemyTank() {
-		if (tanks.size() < MAX_ENEMIES+1 && tankAmount < ENEMY_COUNT) {
-			List<Integer> list = new ArrayList<>();
-			list.add(0);
-			list.add(BYTE*12);
-			list.add(BYTE*12*2);
-			Collections.shuffle(list);
-			for (int x : list ) {
-				if (noTankAt(x, 0)) {
-					tankAmount++;
-					tanks.add(new EnemyTank(x, 0, Direction.SOUTH));
-					break;
-				}
-			}
-		}
-	}
-
-	private boolean noTankAt(int x, int y) {
-		for (Tank t : tanks) {
-			if (t.getBounds().intersects(x, y, 2 * BYTE, 2 * BYTE))
-				return false;
+	/**
+	 * @return versus game if {@link VersusHost#HOST_PROPERTY} or {@link VersusClient#JOIN_PROPERTY} is set, local
+	 * world otherwise
+	 */
+	private GameSession openSession(Level level, Map map) {
+		int respawns = gameFieldPanel.getRespawns();
+		String join = System.getProperty(VersusClient.JOIN_PROPERTY);
+		String port = System.getProperty(VersusHost.HOST_PROPERTY);
+		try {
+			if (join != null)
+				return new VersusClient(VersusClient.parseAddress(join));
+			if (port != null)
+				return new VersusHost(level, map, respawns, Integer.parseInt(port));
+		} catch (IOException e) {
+			e.printStackTrace();
 		}
-		return true;
+		return new GameWorld(level, map, respawns);
 	}
 
-
 	/**
-	 * Overriden method. Used to start the Thread when it's added to the JFrame
+	 * Overriden method. Used to create the buffers and start the Thread when it's added to the JFrame
 	 */
 	@Override
 	public void addNotify() {
 		super.addNotify();
 
+		configuration = getGraphicsConfiguration();
+		pipeline = RenderingPipeline.describe(configuration);
+		createBufferStrategy(BUFFERS);
+		strategy = getBufferStrategy();
+		framePeriod = 1_000_000_000L / framesPerSecond();
 		animator = new Thread(this);
 		animator.start();
 	}
 
 	/**
-	 * All actions that should be performed every game tick
+	 * The buffers are destroyed with the peer, so the animator must stop drawing first
 	 */
-	private void cycle() {
-		checkTankRespawns();
-		checkWinCondtions();
-		checkAllTanksCollision();
-		updateBullets();
-		addPowerUps();
-		//Synchronizing drawing because of buffering
-		Toolkit.getDefaultToolkit().sync();
-	}
-
-	private void addPowerUps() {
-		if(rand.nextDouble() < 0.001)
-			powerUps.add(new PowerUp(rand.nextInt(25)*BYTE,rand.nextInt(25)*BYTE));
-		for(PowerUp p : powerUps) {
-			if (p.getBounds().intersects(playerTank.getBounds())) {
-				p.setVisible(false);
-				switch (p.getType()) {
-					case UPGRADE:
-						GameSound.getBoostSoundInstance().play();
-						playerTank.upgrade();
-						break;
-					case HEALTH:
-						GameSound.getBoostSoundInstance().play();
-						gameFieldPanel.playerRespawnGained();
-						break;
-					case TIME_STOP:
-						stopTime();
-						break;
-				}
+	@Override
+	public void removeNotify() {
+		if (animator != null && animator != Thread.currentThread()) {
+			animator.interrupt();
+			try {
+				animator.join(1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
 			}
 		}
-
-	}
-
-	private void stopTime(){
-		Timer timer = new Timer(4000, new ActionListener() {
-			@Override
-			public void actionPerformed(ActionEvent e) {
-				gameFieldPanel.musicStop();
-				if(!gameFieldPanel.isVisible()){
-					animator.interrupt();
-					return;
-				}
-				GameSound.stopTimeSound[1].stop();
-				GameSound.stopTimeSound[1].play();
-				timeStopped = true;
-				gameFieldPanel.requestFocusField();
-				if (timeStopTimer != null) {
-					timeStopTimer.stop();
-				}
-				timeStopTimer = new Timer(5700, k -> {
-					if(!gameFieldPanel.isVisible()){
-						animator.interrupt();
-						return;
-					}
-					timeStopped = false;
-					gameFieldPanel.musicPlay();
-				});
-				timeStopTimer.start();
-				timeStopTimer.setRepeats(false);
-			}
-		});
-		timer.setRepeats(false);
-		timer.start();
-		GameSound.stopTimeSound[1].stop();
-		GameSound.stopTimeSound[0].play();
+		super.removeNotify();
 	}
 
 	public void interrupt() {
 		animator.interrupt();
 	}
 
-	private void checkAllTanksCollision() {
-		for (Tank t : tanks) {
-			if(! (t instanceof EnemyTank && timeStopped) ) {
-				if (t instanceof EnemyTank) {
-					t.fire();
-					if (rand.nextDouble() < 0.02)
-						t.changeDirection(Direction.values()[rand.nextInt(Direction.values().length)]);
-				}
-				if (!checkWallCollisions(t) && !checkTankCollisions(t)) {
-					t.move();
-				} else if(t instanceof EnemyTank){
-					for (int i = 0; i < 8; i++) {
-						t.changeDirection(Direction.values()[rand.nextInt(Direction.values().length)]);
-						if(!checkWallCollisions(t) && !checkTankCollisions(t))
-							break;
-					}
-				}
-			}
-		}
-	}
-
-	private void checkTankRespawns(){
-		if (!playerTank.isVisible() && endTimer==null) {
-			gameFieldPanel.playerTankDestroyed();
-			if (gameFieldPanel.getRespawns()!=-1){
-				spawnPlayerTank();
-			} else {
-				endTimer = new Timer(3000, new ActionListener() {
-					@Override
-					public void actionPerformed(ActionEvent e) {
-						animator.interrupt();
-						gameFieldPanel.gameLost();
-					}
-				});
-				endTimer.setRepeats(false);
-				endTimer.start();
-			}
-		}
+	/**
+	 * Draw a frame into the back buffer and show it
+	 *
+	 * @param alpha part of the tick that has passed since the last snapshot
+	 */
+	private void render(double alpha) {
+		do {
+			do {
+				Graphics g = strategy.getDrawGraphics();
+				paintFrame(g, alpha);
+				g.dispose();
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		//Synchronizing drawing because of buffering
+		Toolkit.getDefaultToolkit().sync();
+		lastFrame = lastFrame == 0 ? System.nanoTime() : session.getProfiler().phase(FrameProfiler.Phase.FRAME, lastFrame);
 	}
 
 	/**
-	 * Checking collisions of tanks with other tanks on the map
+	 * Frame is kept between paints and only the tiles under moving sprites and changed terrain are redrawn into it,
+	 * after that the whole frame is copied to the screen
+	 *
+	 * @param g     Graphics we draw on
+	 * @param alpha part of the tick that has passed since the last snapshot
 	 */
-	private boolean checkTankCollisions(Tank tank) {
-		Rectangle tBounds = tank.getTheoreticalBounds();
-		for (Tank t : tanks) {
-			if (t != tank && tBounds.intersects(t.getBounds()))
-				return true;
-		}
-		return false;
+	private void paintFrame(Graphics g, double alpha) {
+		FrameProfiler profiler = session.getProfiler();
+		long start = System.nanoTime();
+		RenderSnapshot snapshot = session.getSnapshots().latest();
+		if (terrain == null)
+			terrain = new TerrainLayer();
+		if (validateFrame())
+			dirty.markAll();
+		int changedTiles = terrain.update(snapshot);
+		for (int i = 0; i < changedTiles; i++)
+			dirty.markTile(terrain.getChangedTile(i));
+		long time = profiler.phase(FrameProfiler.Phase.PAINT_TERRAIN, start);
+		collectSprites(snapshot, alpha);
+		time = profiler.phase(FrameProfiler.Phase.PAINT_SPRITES, time);
+		drawDirty();
+		time = profiler.phase(FrameProfiler.Phase.PAINT_DIRTY, time);
+		g.drawImage(frame, 0, 0, this);
+		//Video memory was lost while drawing, the frame has to be drawn anew
+		if (frame instanceof VolatileImage && ((VolatileImage) frame).contentsLost())
+			dirty.markAll();
+		profiler.phase(FrameProfiler.Phase.PAINT_BLIT, time);
+		profiler.phase(FrameProfiler.Phase.PAINT, start);
+		if (profilerShown)
+			drawProfiler(g);
 	}
 
 	/**
-	 * Checking collisions of tanks with other objects on the map
+	 * Create the frame if there is none or it can't be used on the screen anymore
+	 *
+	 * @return true if the frame has to be drawn completely
 	 */
-	private boolean checkWallCollisions(Tank tank) {
-		Rectangle tBounds = tank.getTheoreticalBounds();
-		for (MapObject mo : map) {
-			if (mo.isCollidable() && tBounds.intersects(mo.getBounds()))
+	private boolean validateFrame() {
+		if (frame instanceof VolatileImage) {
+			int state = ((VolatileImage) frame).validate(configuration);
+			if (state == VolatileImage.IMAGE_OK)
+				return false;
+			if (state == VolatileImage.IMAGE_RESTORED)
 				return true;
+			frame.flush();
+			frame = null;
 		}
-		return !this.getBounds().contains(tBounds);
-
-	}
-
-	//Timer must be initialized only one time or duplicate menu appears
-	private void checkWinCondtions() {
-		if (base.isDefeated() && endTimer == null) {
-			endTimer = new Timer(1000, e -> {
-				gameFieldPanel.gameLost();
-				animator.interrupt();
-			});
-			endTimer.setRepeats(false);
-			endTimer.start();
-		}
-	}
-
-	private void updateBullets() {
-		for (Tank t : tanks) {
-			t.getBullets().removeIf(bullet -> !bullet.isVisible());
-			bullets.addAll(t.getBullets());
-			bullets.removeIf(bullet -> !bullet.isVisible());
-		}
-		for (Bullet b : bullets) {
-			Rectangle bBounds = b.getTheoreticalBounds();
-			for (Bullet b1 : bullets) {
-				if (b != b1 && bBounds.intersects(b1.getBounds())) {
-					b.destroy();
-					b1.destroy();
-					explosions.add(b.getExplosion());
-					explosions.add(b1.getExplosion());
-				}
-			}
-			for (MapObject mo : map) {
-				if (mo instanceof Destructible && bBounds.intersects(mo.getBounds())) {
-					((Destructible) mo).destroy();
-					b.destroy();
-					explosions.add(b.getExplosion());
-				}
-
-			}
-			for (Tank t : tanks) {
-				if (bBounds.intersects(t.getBounds())) {
-					b.destroy();
-					if(!(b instanceof EnemyBullet) || t instanceof PlayerTank) {
-						t.destroy();
-						explosions.add(b.getExplosion());
-						if (t instanceof EnemyTank) {
-							gameFieldPanel.enemyTankDestroyed();
-						}
-					}
-				}
-			}
-			if (!this.getBounds().contains(bBounds))
-				b.destroy();
-			b.move();
-		}
-
-	}
-
-	@Override
-	public void paintComponent(Graphics g) {
-		super.paintComponent(g);
-		drawTanks(g);
-		drawMapObjects(g);
-		drawBullets(g);
-		drawPowerUps(g);
-		drawExplosion(g);
-	}
-
-	private void drawPowerUps(Graphics g) {
-		powerUps.removeIf(powerUp -> !powerUp.isVisible());
-		for(PowerUp p: powerUps) {
-			if(p.isVisible())
-				g.drawImage(p.getImage(),p.getX(),p.getY(),this);
-		}
+		if (frame != null)
+			return false;
+		if (configuration != null)
+			frame = configuration.createCompatibleVolatileImage(FIELD_DIMENSIONS, FIELD_DIMENSIONS);
+		else
+			frame = RenderingPipeline.createImage(FIELD_DIMENSIONS, FIELD_DIMENSIONS, Transparency.OPAQUE);
+		return true;
 	}
 
 	/**
-	 * Draw bullets on graphics
-	 *
-	 * @param g Graphics we draw on
+	 * Take positions of all the sprites from the snapshot. Tiles under their previously drawn and current positions
+	 * become dirty
 	 */
-	private void drawBullets(Graphics g) {
-		for (Bullet b : bullets) {
-			if (b.isVisible()) {
-				g.drawImage(b.getImage(), b.getX(), b.getY(), this);
-			}
-		}
+	private void collectSprites(RenderSnapshot snapshot, double alpha) {
+		SpriteList previous = sprites;
+		sprites = previousSprites;
+		previousSprites = previous;
+		previous.markDirty(dirty);
+
+		sprites.copy(snapshot, alpha);
+		coverIndex = snapshot.getCoverIndex();
+		sprites.markDirty(dirty);
 	}
 
 	/**
-	 * Draw player tank on graphics
-	 *
-	 * @param g Graphics we draw on
+	 * Redraw all dirty parts of the frame layer by layer: ground, base and tanks, cover, bullets, power-ups and explosions
 	 */
-	private void drawTanks(Graphics g) {
-		tanks.removeIf(enemyTank -> !enemyTank.isVisible());
-//		g.drawImage(playerTank.getImage(), playerTank.getX(), playerTank.getY(), this);
-		for (Tank tank : tanks) {
-			g.drawImage(tank.getImage(), tank.getX(), tank.getY(), this);
+	private void drawDirty() {
+		Graphics2D g = (Graphics2D) frame.getGraphics();
+		Rectangle clip;
+		while ((clip = dirty.nextRun()) != null) {
+			g.setClip(clip);
+			g.setColor(Color.BLACK);
+			g.fill(clip);
+			g.drawImage(terrain.getGround(), 0, 0, null);
+			sprites.draw(g, clip, 0, coverIndex);
+			g.drawImage(terrain.getCover(), 0, 0, null);
+			sprites.draw(g, clip, coverIndex, sprites.size());
 		}
+		g.dispose();
 	}
 
 	/**
-	 * Draw all objects that are on the map on graphics
+	 * Draw profiler report over the game
 	 *
 	 * @param g Graphics we draw on
 	 */
-	private void drawMapObjects(Graphics g) {
-		map.removeIf(mapObject -> !mapObject.isVisible());
-		for (MapObject mo : map)
-			if (mo.isVisible())
-				g.drawImage(mo.getImage(), mo.getX(), mo.getY(), this);
-
+	private void drawProfiler(Graphics g) {
+		java.util.List<String> lines = session.getProfiler().report();
+		lines.add(pipeline);
+		g.setFont(PROFILER_FONT);
+		FontMetrics metrics = g.getFontMetrics();
+		int lineHeight = metrics.getHeight();
+		int width = 0;
+		for (String line : lines)
+			width = Math.max(width, metrics.stringWidth(line));
+		g.setColor(PROFILER_BACKGROUND);
+		g.fillRect(0, 0, width + 10, lines.size() * lineHeight + 10);
+		g.setColor(Color.WHITE);
+		for (int i = 0; i < lines.size(); i++)
+			g.drawString(lines.get(i), 5, 5 + metrics.getAscent() + i * lineHeight);
 	}
 
 	/**
-	 * Draw explosions on graphics
-	 *
-	 * @param g Graphics we draw on
+	 * Start or stop streaming the profiler data into a CSV file in the working directory
 	 */
-	private void drawExplosion(Graphics g) {
-		explosions.removeIf(explosion -> !explosion.isVisible());
-		for (Explosion ex : explosions) {
-			g.drawImage(ex.getImage(), ex.getX(), ex.getY(), this);
-			ex.cycle();
-		}
+	private void toggleProfilerCsv() {
+		FrameProfiler profiler = session.getProfiler();
+		if (profiler.getCsvFile() != null)
+			profiler.stopCsv();
+		else
+			profiler.startCsv(new File("profile-" + System.currentTimeMillis() + ".csv"));
 	}
 
 	/**
-	 * Method for running the game in a thread for continuous and uninterrupted game performance. We use a while-loop to perform some actions specified in a cycle method and then repaint the whole game.
+	 * Method for running the game in a thread for continuous and uninterrupted game performance. The world is advanced in fixed steps of DELAY milliseconds, if drawing falls behind we perform several ticks before the next frame.
+	 * Frames are drawn at their own rate, which doesn't change the game itself.
 	 */
-	@SuppressWarnings("InfiniteLoopStatement")
 	@Override
 	public void run() {
 
-
-		long beforeTime, timeDiff, sleep;
-
-		beforeTime = System.currentTimeMillis();
+		final long step = DELAY * 1_000_000L;
+		long nextTick = System.nanoTime();
+		long nextFrame = nextTick;
 
 		while (!Thread.currentThread().isInterrupted()) {
+			int ticks = 0;
+			while (System.nanoTime() - nextTick >= 0 && ticks < MAX_CATCH_UP_TICKS) {
+				session.tick();
+				scheduler.advance();
+				nextTick += step;
+				ticks++;
+			}
+			//Too far behind, don't try to catch up anymore
+			if (ticks == MAX_CATCH_UP_TICKS)
+				nextTick = System.nanoTime() + step;
+			//The last snapshot was taken at nextTick - step
+			double alpha = 1 - (double) (nextTick - System.nanoTime()) / step;
 			try {
-			cycle();
-			repaint();
-
-			timeDiff = System.currentTimeMillis() - beforeTime;
-			sleep = DELAY - timeDiff;
-
-			if (sleep < 0)
-				sleep = 2;
-
-			Thread.sleep(sleep);
-			} catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-				return;
+				render(Math.max(0, Math.min(1, alpha)));
+			} catch (IllegalStateException e) {
+				//The canvas was removed while the frame was drawn
+				break;
 			}
 
-			beforeTime = System.currentTimeMillis();
+			nextFrame += framePeriod;
+			long now = System.nanoTime();
+			if (nextFrame - now < 0)
+				nextFrame = now;
+			else
+				LockSupport.parkNanos(nextFrame - now);
 		}
+		session.close();
+	}
+
+	/**
+	 * @return frames per second from {@link #FPS_PROPERTY} or the refresh rate of the display
+	 */
+	private int framesPerSecond() {
+		int fps = Integer.getInteger(FPS_PROPERTY, 0);
+		if (fps > 0)
+			return fps;
+		int refreshRate = configuration.getDevice().getDisplayMode().getRefreshRate();
+		return refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_FPS : refreshRate;
 	}
 
 	private class Adapter extends KeyAdapter {
 
 		@Override
 		public void keyTyped(KeyEvent e) {
-			playerTank.fire();
+			session.requestPlayerFire();
 		}
 
 		@Override
@@ -462,27 +425,127 @@ public class GameField extends JPanel implements Runnable {
 
 			switch (key) {
 				case KeyEvent.VK_LEFT:
-					playerTank.changeDirection(Direction.WEST);
+					session.input(PlayerInput.WEST);
 					break;
 				case KeyEvent.VK_RIGHT:
-					playerTank.changeDirection(Direction.EAST);
+					session.input(PlayerInput.EAST);
 					break;
 				case KeyEvent.VK_UP:
-					playerTank.changeDirection(Direction.NORTH);
+					session.input(PlayerInput.NORTH);
 					break;
 				case KeyEvent.VK_DOWN:
-					playerTank.changeDirection(Direction.SOUTH);
+					session.input(PlayerInput.SOUTH);
+					break;
+				case PROFILER_KEY:
+					profilerShown = !profilerShown;
+					break;
+				case PROFILER_CSV_KEY:
+					toggleProfilerCsv();
 					break;
 			}
 		}
 
 		@Override
 		public void keyReleased(KeyEvent e) {
-			playerTank.keyReleased(e);
+			int key = e.getKeyCode();
+
+			if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_RIGHT)
+				session.input(PlayerInput.STOP_HORIZONTAL);
+			if (key == KeyEvent.VK_UP || key == KeyEvent.VK_DOWN)
+				session.input(PlayerInput.STOP_VERTICAL);
+		}
+	}
+
+	/**
+	 * Plays the sounds of the world events right away and passes everything the game panel should show to the event
+	 * dispatch thread in one go
+	 */
+	private class Listener implements GameEventListener {
+
+		@Override
+		public void onEvents(EventBatch events) {
+			int enemiesDestroyed = 0;
+			int respawns = 0;
+			boolean respawnsChanged = false, timeStopped = false, timeResumed = false, lost = false, won = false;
+			for (int i = 0; i < events.size(); i++) {
+				switch (events.getType(i)) {
+					case TANK_DESTROYED:
+						if (events.getValue(i) == GameEvent.ENEMY)
+							enemiesDestroyed++;
+						break;
+					case RESPAWNS_CHANGED:
+						respawns = events.getValue(i);
+						respawnsChanged = true;
+						break;
+					case POWER_UP_COLLECTED:
+						powerUpCollected(PowerUp.Type.values()[events.getValue(i)]);
+						break;
+					case TIME_STOPPED:
+						timeStopped = true;
+						break;
+					case TIME_RESUMED:
+						timeResumed = true;
+						break;
+					case EXPLOSION:
+						SoundEffects.play(SoundEffects.Effect.EXPLOSION);
+						break;
+					case GAME_LOST:
+						//Stops the simulation after this tick
+						animator.interrupt();
+						lost = true;
+						break;
+					case LEVEL_WON:
+						won = true;
+						break;
+				}
+			}
+			if (enemiesDestroyed == 0 && !respawnsChanged && !timeStopped && !timeResumed && !lost && !won)
+				return;
+			final int destroyed = enemiesDestroyed, left = respawns;
+			final boolean changed = respawnsChanged, stopped = timeStopped, resumed = timeResumed, gameLost = lost,
+					levelWon = won;
+			SwingUtilities.invokeLater(() -> {
+				if (destroyed > 0)
+					gameFieldPanel.enemyTanksDestroyed(destroyed);
+				if (changed)
+					gameFieldPanel.respawnsChanged(left);
+				if (stopped) {
+					gameFieldPanel.musicStop();
+					SoundEffects.play(SoundEffects.Effect.TIME_STOP_COUNT);
+					gameFieldPanel.requestFocusField();
+				}
+				if (resumed)
+					gameFieldPanel.musicPlay();
+				if (gameLost)
+					gameFieldPanel.gameLost();
+				if (levelWon)
+					gameFieldPanel.roundWon();
+			});
+		}
+
+		private void powerUpCollected(PowerUp.Type type) {
+			switch (type) {
+				case UPGRADE:
+				case HEALTH:
+					SoundEffects.play(SoundEffects.Effect.BOOST);
+					break;
+				case TIME_STOP:
+					SoundEffects.stop(SoundEffects.Effect.TIME_STOP_COUNT);
+					SoundEffects.play(SoundEffects.Effect.TIME_STOP);
+					break;
+			}
 		}
 	}
 
 	public Thread getAnimator() {
 		return animator;
 	}
+
+	/**
+	 * @return scheduler of the window, its tasks run on the animator thread after the tick of the session. Can be
+	 * used by other threads only before the field is shown
+	 */
+	public TickScheduler getScheduler() {
+		return scheduler;
+	}
 }
@@ -2,6 +2,7 @@ package game_content;
 
 import javafx.scene.media.AudioClip;
 import map_tools.Level;
+import map_tools.Map;
 import resources_classes.GameSound;
 import resources_classes.ScaledImage;
 import javax.swing.*;
@@ -26,6 +27,12 @@ public class GameFieldPanel extends JPanel {
     private int enemyTanksDestroyed;
     //Current level
     private Level level;
+    //Next level that is loaded in the background after the last enemy is destroyed
+    private LevelPreloader nextLevel;
+    //Minimum time the load screen is shown, in milliseconds
+    private static final int LOAD_SCREEN_MILLIS = 1000;
+    //Ticks between checks whether the music still plays
+    private static final int MUSIC_CHECK_TICKS = 5000 / GameField.DELAY;
     //Booleans which control music
     private boolean musicMute;
     private boolean musicStop;
@@ -36,12 +43,19 @@ public class GameFieldPanel extends JPanel {
     private Image unmutedImage = ScaledImage.create("resources/sprites/menu/buttons_icon/unmute_button.png",50,50);
 
     public GameFieldPanel(GameWindow gameWindow, Level level){
+        this(gameWindow, level, Map.getLevelMap(level));
+    }
+
+    /**
+     * @param map new map of the level, loaded beforehand
+     */
+    public GameFieldPanel(GameWindow gameWindow, Level level, Map map){
         this.gameWindow = gameWindow;
         this.level = level;
         setBounds(0,0,windowWidth,windowHeight);
         setLayout(null);
         setBackground(Color.DARK_GRAY);
-        addGameField();
+        addGameField(map);
         addMuteButton();
         addExitToMenuButton();
         addLifeIcon();
@@ -52,23 +66,16 @@ public class GameFieldPanel extends JPanel {
     }
 
     /**
-     * Controls music playing endless
+     * Controls music playing endless. Checks run on the ticks of the game, so they end together with it
      */
     private void checkMusicPlaying(){
-        if(!musicStop){
-            Timer timer = new Timer(5000, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
+        gameField.getScheduler().scheduleRepeating(MUSIC_CHECK_TICKS, MUSIC_CHECK_TICKS,
+                () -> SwingUtilities.invokeLater(() -> {
                     if (!music.isPlaying() && !musicMute && !musicStop){
                         music = GameSound.nextBattleMusic();
                         music.play();
                     }
-                    checkMusicPlaying();
-                }
-            });
-            timer.setRepeats(false);
-            timer.start();
-        }
+                }));
     }
 
     /**
@@ -124,8 +131,8 @@ public class GameFieldPanel extends JPanel {
     /**
      * Create game field
      */
-    private void addGameField(){
-        gameField = new GameField(level, this);
+    private void addGameField(Map map){
+        gameField = new GameField(level, map, this);
         gameField.setBounds(0,0,624,624);
         add(gameField);
         music.setVolume(GameSound.battleMusicVolume);
@@ -203,22 +210,20 @@ public class GameFieldPanel extends JPanel {
         }
 
         gameWindow.remove(this);
-        gameField.getAnimator().stop();
+        gameField.interrupt();
         this.setVisible(false);
         LoadScreenPanel loadScreenPanel = new LoadScreenPanel(level.ordinal()+2);
 
-        Timer timer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                gameWindow.remove(loadScreenPanel);
-                GameFieldPanel gameFieldPanel = new GameFieldPanel(gameWindow, Level.values()[level.ordinal()+1]);
-                gameWindow.add(gameFieldPanel);
-                gameWindow.repaint();
-                gameFieldPanel.requestFocusField();
-            }
+        if (nextLevel == null)
+            nextLevel = new LevelPreloader(Level.values()[level.ordinal()+1]);
+        //The load screen stays until the next level is loaded, but at least for a second
+        nextLevel.whenLoaded(LOAD_SCREEN_MILLIS, map -> {
+            gameWindow.remove(loadScreenPanel);
+            GameFieldPanel gameFieldPanel = new GameFieldPanel(gameWindow, nextLevel.getLevel(), map);
+            gameWindow.add(gameFieldPanel);
+            gameWindow.repaint();
+            gameFieldPanel.requestFocusField();
         });
-        timer.setRepeats(false);
-        timer.start();
         gameWindow.add(loadScreenPanel);
         gameWindow.repaint();
     }
@@ -254,11 +259,11 @@ public class GameFieldPanel extends JPanel {
     }
 
     /**
-     * Minus one respawn and change JLabel
+     * Remember the respawns for the next level and change JLabel
+     * @param respawns respawns left, -1 if there are none
      */
-    public void playerTankDestroyed(){
-        gameWindow.playerTankDestroyed();
-        int respawns = gameWindow.getRespawns();
+    public void respawnsChanged(int respawns){
+        gameWindow.setRespawns(respawns);
         if(respawns!=-1){
             numberOfRespawns.setText(respawns+"x");
         }
@@ -266,35 +271,21 @@ public class GameFieldPanel extends JPanel {
     }
 
     /**
-     * Count enemy tanks destroyed
+     * Count enemy tanks destroyed, the level changes when the game reports it is won
+     * @param count number of tanks destroyed since the last call
      */
-    public void enemyTankDestroyed(){
-        enemyTanksDestroyed++;
+    public void enemyTanksDestroyed(int count){
+        enemyTanksDestroyed+=count;
         numberEnemyTanksLabel.setText(GameField.ENEMY_COUNT-enemyTanksDestroyed+"x");
-        if (enemyTanksDestroyed==GameField.ENEMY_COUNT){
-            Timer timer = new Timer(3000, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    roundWon();
-                }
-            });
-            timer.setRepeats(false);
-            timer.start();
-        }
+        //Start loading the next level while the victory is shown
+        if (enemyTanksDestroyed==GameField.ENEMY_COUNT && level.ordinal()+1<Level.values().length)
+            nextLevel = new LevelPreloader(Level.values()[level.ordinal()+1]);
     }
 
     public int getRespawns(){
         return gameWindow.getRespawns();
     }
 
-    /**
-     * Plus one respawn
-     */
-    public void playerRespawnGained(){
-        gameWindow.playerRespawnGained();
-        numberOfRespawns.setText(gameWindow.getRespawns()+"x");
-    }
-
     /**
      * Stop music
      */
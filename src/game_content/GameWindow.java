@@ -1,5 +1,9 @@
 package game_content;
 
+import resources_classes.RenderingPipeline;
+import resources_classes.SoundEffects;
+import resources_classes.SpriteAtlas;
+
 import java.awt.*;
 import java.io.File;
 import javax.swing.*;
@@ -32,28 +36,18 @@ public class GameWindow extends JFrame {
 		setSize(windowWidth,windowHeight);
 
 		createFont();
+		SpriteAtlas.preload();
+		SoundEffects.preload();
 		MenuPanel menuPanel = new MenuPanel(this);
 		add(menuPanel);
 
 		setLocationRelativeTo(null);
 		setVisible(true);
+		//Logged once per run, the screen the window is on is known when it is shown
+		System.out.println(RenderingPipeline.describe(getGraphicsConfiguration()));
 
 	}
 
-	/**
-	 * Minus one respawn
-	 */
-	public void playerTankDestroyed(){
-		respawns--;
-	}
-
-	/**
-	 * Plus one respawn
-	 */
-	public void playerRespawnGained(){
-		respawns++;
-	}
-
 	public int getRespawns(){
 		return respawns;
 	}
@@ -0,0 +1,48 @@
+package game_content;
+
+import map_tools.Level;
+import map_tools.Map;
+import resources_classes.SpriteAtlas;
+
+import javax.swing.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Loads the next level in the background while the current one is finishing. The map and the sprites are loaded in
+ * parallel, so the load screen waits only for the slower of them
+ */
+class LevelPreloader {
+
+    private final Level level;
+    private final CompletableFuture<Map> map;
+
+    LevelPreloader(Level level) {
+        this.level = level;
+        CompletableFuture<Void> sprites = CompletableFuture.runAsync(SpriteAtlas::preload);
+        map = CompletableFuture.supplyAsync(() -> Map.getLevelMap(level))
+                .thenCombine(sprites, (loaded, nothing) -> loaded);
+    }
+
+    Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Pass the loaded map to the action on the event dispatch thread, but not earlier than the given time passes.
+     * If loading has failed the map is loaded there
+     * @param minimumMillis minimum time from this call
+     * @param action action that starts the level
+     */
+    void whenLoaded(int minimumMillis, Consumer<Map> action) {
+        CompletableFuture<Void> shown = new CompletableFuture<>();
+        Timer timer = new Timer(minimumMillis, e -> shown.complete(null));
+        timer.setRepeats(false);
+        timer.start();
+        map.exceptionally(e -> {
+            e.printStackTrace();
+            return null;
+        }).thenCombine(shown, (loaded, nothing) -> loaded).thenAccept(loaded -> SwingUtilities.invokeLater(
+                () -> action.accept(loaded != null ? loaded : Map.getLevelMap(level))));
+    }
+}
@@ -19,8 +19,8 @@ public class MenuPanel extends JPanel {
     private JComboBox levelsBox;
     //Background gif
     private JLabel labelBackground;
-    //Music boolean
-    private boolean musicStop;
+    //Checks whether the music still plays, there are no game ticks in the menu
+    private Timer musicTimer;
     //Parent component
     private GameWindow gameWindow;
     public MenuPanel(GameWindow gameWindow){
@@ -59,23 +59,19 @@ public class MenuPanel extends JPanel {
     }
 
     /**
-     * Controls music playing endless
+     * Controls music playing endless until the menu is left
      */
     private void checkMusicPlaying(){
-        if(!musicStop){
-            Timer timer = new Timer(5000, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    if (!music.isPlaying() && !musicStop){
-                        music = GameSound.nextMenuMusic();
-                        music.play();
-                    }
-                    checkMusicPlaying();
+        musicTimer = new Timer(5000, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!music.isPlaying()){
+                    music = GameSound.nextMenuMusic();
+                    music.play();
                 }
-            });
-            timer.setRepeats(false);
-            timer.start();
-        }
+            }
+        });
+        musicTimer.start();
     }
 
     /**
@@ -103,23 +99,19 @@ public class MenuPanel extends JPanel {
         playButton.setFocusPainted(false);
         playButton.addActionListener(e -> {
             gameWindow.remove(MenuPanel.this);
-            musicStop=true;
+            musicTimer.stop();
             music.stop();
             Level level = (Level)levelsBox.getSelectedItem();
             LoadScreenPanel loadScreenPanel = new LoadScreenPanel(level.ordinal()+1);
 
-            Timer timer = new Timer(1000, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    gameWindow.remove(loadScreenPanel);
-                    GameFieldPanel gameFieldPanel = new GameFieldPanel(gameWindow,level);
-                    gameWindow.add(gameFieldPanel);
-                    gameWindow.repaint();
-                    gameFieldPanel.requestFocusField();
-                }
+            //The level is loaded while the load screen is shown
+            new LevelPreloader(level).whenLoaded(1000, map -> {
+                gameWindow.remove(loadScreenPanel);
+                GameFieldPanel gameFieldPanel = new GameFieldPanel(gameWindow, level, map);
+                gameWindow.add(gameFieldPanel);
+                gameWindow.repaint();
+                gameFieldPanel.requestFocusField();
             });
-            timer.setRepeats(false);
-            timer.start();
             gameWindow.add(loadScreenPanel);
             gameWindow.repaint();
         });
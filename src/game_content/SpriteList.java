@@ -0,0 +1,70 @@
+package game_content;
+
+import game_engine.RenderSnapshot;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Images and positions of the sprites of the drawn frame. They are copied from the snapshot, because snapshots are
+ * reused and the tiles under the sprites of the previous frame must be redrawn.
+ */
+class SpriteList {
+
+	private Image[] images = new Image[64];
+	private int[] bounds = new int[64 * 4];
+	private int size;
+
+	/**
+	 * Replace the sprites with the ones of the snapshot, placed between their previous and current positions
+	 *
+	 * @param alpha part of the tick that has passed since the snapshot, from 0 (previous position) to 1 (current one)
+	 */
+	void copy(RenderSnapshot snapshot, double alpha) {
+		Arrays.fill(images, 0, size, null);
+		size = snapshot.size();
+		if (size > images.length) {
+			images = new Image[Math.max(size, images.length * 2)];
+			bounds = new int[images.length * 4];
+		}
+		for (int i = 0; i < size; i++) {
+			images[i] = snapshot.getImage(i);
+			bounds[4 * i] = interpolate(snapshot.getPreviousX(i), snapshot.getX(i), alpha);
+			bounds[4 * i + 1] = interpolate(snapshot.getPreviousY(i), snapshot.getY(i), alpha);
+			bounds[4 * i + 2] = snapshot.getWidth(i);
+			bounds[4 * i + 3] = snapshot.getHeight(i);
+		}
+	}
+
+	private static int interpolate(int from, int to, double alpha) {
+		return from + (int) Math.round((to - from) * alpha);
+	}
+
+	/**
+	 * Mark tiles under every sprite as dirty
+	 */
+	void markDirty(DirtyGrid dirty) {
+		for (int i = 0; i < size; i++)
+			dirty.mark(bounds[4 * i], bounds[4 * i + 1], bounds[4 * i + 2], bounds[4 * i + 3]);
+	}
+
+	/**
+	 * Draw sprites from one index to another that intersect with the clip
+	 *
+	 * @param g    Graphics we draw on
+	 * @param clip region that is redrawn
+	 * @param from first sprite, inclusive
+	 * @param to   last sprite, exclusive
+	 */
+	void draw(Graphics g, Rectangle clip, int from, int to) {
+		for (int i = from; i < to; i++) {
+			int x = bounds[4 * i], y = bounds[4 * i + 1];
+			if (clip.intersects(x, y, bounds[4 * i + 2], bounds[4 * i + 3]))
+				g.drawImage(images[i], x, y, null);
+		}
+	}
+
+	int size() {
+		return size;
+	}
+}
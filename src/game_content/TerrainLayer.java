@@ -0,0 +1,114 @@
+package game_content;
+
+import game_engine.RenderSnapshot;
+import map_tools.Map;
+import resources_classes.RenderingPipeline;
+import resources_classes.SpriteAtlas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import static game_content.GameField.BYTE;
+import static game_content.GameField.FIELD_DIMENSIONS;
+import static game_content.GameField.MAP_SIZE;
+
+/**
+ * Map tiles pre-rendered into two images: the ground, which is drawn under the tanks, and the cover, which is drawn
+ * over them. The layer keeps the tiles it has drawn and redraws only the ones that differ in the next snapshot.
+ */
+class TerrainLayer {
+
+	private static final String TILES = "resources/sprites/map/";
+
+	private final BufferedImage ground;
+	private final BufferedImage cover;
+	/**
+	 * Tiles as they are drawn now, -1 before the first update
+	 */
+	private final byte[] kinds = new byte[MAP_SIZE * MAP_SIZE];
+	private final byte[] bricks = new byte[MAP_SIZE * MAP_SIZE];
+	private final int[] changedTiles = new int[MAP_SIZE * MAP_SIZE];
+
+	TerrainLayer() {
+		ground = RenderingPipeline.createImage(FIELD_DIMENSIONS, FIELD_DIMENSIONS, Transparency.TRANSLUCENT);
+		cover = RenderingPipeline.createImage(FIELD_DIMENSIONS, FIELD_DIMENSIONS, Transparency.TRANSLUCENT);
+		Arrays.fill(kinds, (byte) -1);
+	}
+
+	/**
+	 * Redraw the tiles that differ in the snapshot from the drawn ones
+	 *
+	 * @return number of changed tiles, their indexes are available through {@link #getChangedTile(int)}
+	 */
+	int update(RenderSnapshot snapshot) {
+		int count = 0;
+		for (int i = 0; i < kinds.length; i++) {
+			if (kinds[i] != snapshot.getKind(i) || bricks[i] != snapshot.getBricks(i)) {
+				kinds[i] = snapshot.getKind(i);
+				bricks[i] = snapshot.getBricks(i);
+				drawTile(i % MAP_SIZE, i / MAP_SIZE);
+				changedTiles[count++] = i;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param i number of the changed tile from 0 to the result of the last update
+	 * @return index of the tile: row * MAP_SIZE + column
+	 */
+	int getChangedTile(int i) {
+		return changedTiles[i];
+	}
+
+	BufferedImage getGround() {
+		return ground;
+	}
+
+	BufferedImage getCover() {
+		return cover;
+	}
+
+	private void drawTile(int column, int row) {
+		int x = column * BYTE, y = row * BYTE;
+		clear(ground, x, y);
+		clear(cover, x, y);
+		byte kind = kinds[row * MAP_SIZE + column];
+		if (kind == Map.EMPTY)
+			return;
+		Graphics2D g = (kind == Map.COVER ? cover : ground).createGraphics();
+		if (kind == Map.BRICK) {
+			BufferedImage image = SpriteAtlas.get(TILES + "brick_wall.png");
+			byte standing = bricks[row * MAP_SIZE + column];
+			for (int quarter = 0; quarter < 4; quarter++) {
+				if ((standing & (1 << quarter)) == 0)
+					continue;
+				int qx = (quarter & 1) * Map.QUARTER, qy = (quarter >> 1) * Map.QUARTER;
+				g.drawImage(image, x + qx, y + qy, x + qx + Map.QUARTER, y + qy + Map.QUARTER,
+						qx, qy, qx + Map.QUARTER, qy + Map.QUARTER, null);
+			}
+		} else {
+			g.drawImage(SpriteAtlas.get(TILES + image(kind)), x, y, null);
+		}
+		g.dispose();
+	}
+
+	private static String image(byte kind) {
+		switch (kind) {
+			case Map.STEEL:
+				return "steel_wall.png";
+			case Map.WATER:
+				return "water.gif";
+			default:
+				return "cover.png";
+		}
+	}
+
+	private static void clear(BufferedImage image, int x, int y) {
+		Graphics2D g = image.createGraphics();
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(x, y, BYTE, BYTE);
+		g.dispose();
+	}
+}
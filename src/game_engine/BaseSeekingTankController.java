@@ -0,0 +1,123 @@
+package game_engine;
+
+import game_objects.movables.Direction;
+import game_objects.movables.Tank;
+import map_tools.Map;
+
+import java.util.Random;
+
+import static game_content.GameField.BYTE;
+import static game_content.GameField.DELAY;
+import static game_content.GameField.MAP_SIZE;
+
+/**
+ * Enemy that mostly heads for the base along the {@link FlowField}, shooting through brick walls on the way, and
+ * sometimes wanders like the classic enemies, so the tanks don't all crowd on one path
+ */
+public class BaseSeekingTankController implements TankController {
+
+	/**
+	 * Chance of a random turn on a tick
+	 */
+	private static final double TURN_CHANCE = 0.02;
+	/**
+	 * Chance of following the flow field when the tank stands exactly on a tile and can turn
+	 */
+	private static final double FOLLOW_CHANCE = 0.5;
+	/**
+	 * Chance of giving up waiting in front of an obstacle on the way to the base
+	 */
+	private static final double GIVE_UP_CHANCE = 0.05;
+	/**
+	 * Ticks of waiting in front of brick walls that don't change, after which the tank turns away. Long enough for
+	 * several shots at the default enemy fire delay
+	 */
+	private static final int MAX_WAIT_TICKS = 3000 / DELAY;
+	/**
+	 * How many random directions are tried when the way is blocked
+	 */
+	private static final int TURN_ATTEMPTS = 8;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final Random random;
+	/**
+	 * Ticks the tank has waited in front of the same brick quarters and their hash
+	 */
+	private int waitTicks;
+	private int waitBricks;
+
+	/**
+	 * @param seed seed of the turns of this tank
+	 */
+	public BaseSeekingTankController(long seed) {
+		random = new Random(seed);
+	}
+
+	@Override
+	public void decide(WorldSnapshot snapshot, int self, TankDecision decision) {
+		Direction flow = snapshot.getFlowField().getDirectionAt(snapshot.getX(self), snapshot.getY(self));
+		Direction direction = snapshot.getDirection(self);
+		boolean onTile = snapshot.getX(self) % BYTE == 0 && snapshot.getY(self) % BYTE == 0;
+		if (onTile && flow != null && random.nextDouble() < FOLLOW_CHANCE)
+			direction = flow;
+		else if (random.nextDouble() < TURN_CHANCE)
+			direction = randomDirection();
+		if (!snapshot.canMove(self, direction)) {
+			//Brick walls and tanks on the way to the base are shot at, not driven around
+			boolean wait = direction == flow && random.nextDouble() >= GIVE_UP_CHANCE
+					&& keepWaiting(snapshot, self, direction);
+			if (!wait) {
+				if (flow != null && flow != direction && snapshot.canMove(self, flow)) {
+					direction = flow;
+				} else {
+					for (int i = 0; i < TURN_ATTEMPTS; i++) {
+						direction = randomDirection();
+						if (snapshot.canMove(self, direction))
+							break;
+					}
+				}
+			}
+		}
+		decision.setDirection(direction);
+		decision.setFire(true);
+	}
+
+	/**
+	 * Count the ticks of waiting while the brick walls in front of the tank stay the same. Walls that survive the
+	 * shots, like the ones with a gap too narrow for the tank, would hold it forever
+	 *
+	 * @return false if the tank has waited too long
+	 */
+	private boolean keepWaiting(WorldSnapshot snapshot, int self, Direction direction) {
+		int bricks = bricksAhead(snapshot, self, direction);
+		if (bricks != waitBricks) {
+			waitBricks = bricks;
+			waitTicks = 0;
+		}
+		//Once given up, the tank doesn't wait in front of the same bricks again
+		return ++waitTicks <= MAX_WAIT_TICKS;
+	}
+
+	/**
+	 * @return hash of the standing brick quarters of the tiles the next step of the tank goes into
+	 */
+	private static int bricksAhead(WorldSnapshot snapshot, int self, Direction direction) {
+		Map map = snapshot.getMap();
+		int x = snapshot.getX(self) + direction.getDx() * Tank.SPEED;
+		int y = snapshot.getY(self) + direction.getDy() * Tank.SPEED;
+		int lastColumn = toCell(x + snapshot.getWidth(self) - 1), lastRow = toCell(y + snapshot.getHeight(self) - 1);
+		int hash = 1;
+		for (int row = toCell(y); row <= lastRow; row++)
+			for (int column = toCell(x); column <= lastColumn; column++)
+				hash = 31 * hash + map.getBricks(column, row);
+		return hash;
+	}
+
+	private static int toCell(int coordinate) {
+		return Math.max(0, Math.min(MAP_SIZE - 1, Math.floorDiv(coordinate, BYTE)));
+	}
+
+	private Direction randomDirection() {
+		return DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+	}
+}
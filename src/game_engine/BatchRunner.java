@@ -0,0 +1,162 @@
+package game_engine;
+
+import map_tools.Level;
+import map_tools.Map;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static game_content.GameField.DELAY;
+
+/**
+ * Plays many games without a display, with a {@link PlayerBot} as the player, on every level and with every set of
+ * {@link GameRules} given, and writes a summary of the results: how often the bot wins, how long the games last and
+ * how fast they are simulated. Games run in parallel on a work-stealing pool, each one on a single thread.
+ * <p>
+ * Usage: {@code BatchRunner [games per level] [summary file] [threads] [rules...]}, for example
+ * {@code BatchRunner 100 summary.csv 8 enemyCount=20 enemyCount=20,enemyFireDelay=3000}. Every set of rules plays
+ * the same seeds, so the sets can be compared game by game.
+ */
+public class BatchRunner {
+
+	/**
+	 * Games that last longer are stopped and counted as timeouts
+	 */
+	public static final long MAX_TICKS = 10 * 60 * 1000 / DELAY;
+	/**
+	 * Respawns of the bot at the start of every game
+	 */
+	private static final int RESPAWNS = 3;
+
+	/**
+	 * Outcome of one game
+	 */
+	private static final class Result {
+		final int rules;
+		final Level level;
+		final boolean won;
+		final boolean lost;
+		final long ticks;
+		final int enemiesDestroyed;
+		final long nanos;
+
+		Result(int rules, Level level, GameWorld world, long ticks, long nanos) {
+			this.rules = rules;
+			this.level = level;
+			this.won = world.isWon();
+			this.lost = world.isOver() && !world.isWon();
+			this.ticks = ticks;
+			this.enemiesDestroyed = world.getEnemiesDestroyed();
+			this.nanos = nanos;
+		}
+	}
+
+	/**
+	 * Results of the games of one set of rules on one level, or on all of them
+	 */
+	private static final class Tally {
+		int games, wins, losses;
+		long ticks, enemiesDestroyed, nanos;
+
+		void add(Result result) {
+			games++;
+			if (result.won)
+				wins++;
+			if (result.lost)
+				losses++;
+			ticks += result.ticks;
+			enemiesDestroyed += result.enemiesDestroyed;
+			nanos += result.nanos;
+		}
+
+		String toCsv(String rules, String level) {
+			return String.format(Locale.ROOT, "\"%s\",%s,%d,%d,%d,%d,%.3f,%.1f,%.2f,%.0f", rules, level, games, wins,
+					losses, games - wins - losses, (double) wins / games, (double) ticks / games * DELAY / 1000,
+					(double) enemiesDestroyed / games, ticks / (nanos / 1e9));
+		}
+	}
+
+	/**
+	 * Play one game until it is over or {@link #MAX_TICKS} have passed
+	 */
+	static Result play(int rulesIndex, GameRules rules, Level level, long seed) {
+		long start = System.nanoTime();
+		GameWorld world = new GameWorld(level, Map.getLevelMap(level), 1, RESPAWNS, seed, rules);
+		PlayerBot bot = new PlayerBot(0, seed);
+		long ticks = 0;
+		while (ticks < MAX_TICKS && !world.isOver()) {
+			bot.act(world);
+			world.tick();
+			ticks++;
+		}
+		return new Result(rulesIndex, level, world, ticks, System.nanoTime() - start);
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+		System.setProperty("java.awt.headless", "true");
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		File summary = new File(args.length > 1 ? args[1] : "batch-summary.csv");
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		List<GameRules> rules = new ArrayList<>();
+		for (int i = 3; i < args.length; i++)
+			rules.add(GameRules.parse(args[i]));
+		if (rules.isEmpty())
+			rules.add(new GameRules());
+
+		Level[] levels = Level.values();
+		List<Callable<Result>> tasks = new ArrayList<>();
+		for (int r = 0; r < rules.size(); r++) {
+			for (Level level : levels) {
+				for (int i = 0; i < games; i++) {
+					int rulesIndex = r;
+					GameRules gameRules = rules.get(r);
+					long seed = (long) level.ordinal() * games + i;
+					tasks.add(() -> play(rulesIndex, gameRules, level, seed));
+				}
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		List<Future<Result>> futures = pool.invokeAll(tasks);
+		Tally[][] tallies = new Tally[rules.size()][levels.length + 1];
+		for (Tally[] row : tallies)
+			for (int i = 0; i < row.length; i++)
+				row[i] = new Tally();
+		long ticks = 0;
+		for (Future<Result> future : futures) {
+			Result result = future.get();
+			tallies[result.rules][result.level.ordinal()].add(result);
+			tallies[result.rules][levels.length].add(result);
+			ticks += result.ticks;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		pool.shutdown();
+
+		try (PrintWriter out = new PrintWriter(summary, "UTF-8")) {
+			out.println("rules,level,games,wins,losses,timeouts,win_rate,mean_game_seconds,mean_enemies_destroyed,ticks_per_second");
+			for (int r = 0; r < rules.size(); r++) {
+				String text = rules.get(r).toString();
+				for (Level level : levels)
+					out.println(tallies[r][level.ordinal()].toCsv(text, level.name()));
+				out.println(tallies[r][levels.length].toCsv(text, "ALL"));
+			}
+		}
+		System.out.printf("%d games, %d ticks in %.2f s on %d threads (%.0f ticks/s)%n", tasks.size(), ticks, seconds,
+				threads, ticks / seconds);
+		for (int r = 0; r < rules.size(); r++) {
+			Tally all = tallies[r][levels.length];
+			System.out.printf(Locale.ROOT, "%s: win rate %.3f, %d lost, %d timeouts%n", rules.get(r),
+					(double) all.wins / all.games, all.losses, all.games - all.wins - all.losses);
+		}
+		System.out.println("Summary written to " + summary);
+	}
+}
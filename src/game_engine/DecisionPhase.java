@@ -0,0 +1,97 @@
+package game_engine;
+
+import game_objects.movables.EnemyTank;
+import game_objects.movables.Tank;
+import map_tools.Map;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Phase of the tick where every enemy tank asks its {@link TankController} what to do. All controllers see the same
+ * {@link WorldSnapshot}, so when there are enough enemies the decisions are made in parallel on a fork-join pool.
+ * Decisions are only collected here, the world applies them afterwards in the usual order.
+ */
+class DecisionPhase {
+
+	/**
+	 * Number of tanks decided by one task of the pool
+	 */
+	private static final int BATCH = 4;
+
+	private final WorldSnapshot snapshot = new WorldSnapshot();
+	private final ForkJoinPool pool;
+	private int parallelThreshold;
+	private Tank[] tanks;
+	private TankDecision[] decisions = new TankDecision[0];
+
+	/**
+	 * @param pool              pool the decisions are made on
+	 * @param parallelThreshold minimal number of tanks that are decided in parallel
+	 */
+	DecisionPhase(ForkJoinPool pool, int parallelThreshold) {
+		this.pool = pool;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Make decisions for all the enemy tanks in the array
+	 */
+	void run(Tank[] tanks, int count, Map map, FlowField flowField, long tick) {
+		this.tanks = tanks;
+		snapshot.capture(tanks, count, map, flowField, tick);
+		if (decisions.length < count) {
+			TankDecision[] grown = new TankDecision[tanks.length];
+			for (int i = 0; i < grown.length; i++)
+				grown[i] = i < decisions.length ? decisions[i] : new TankDecision();
+			decisions = grown;
+		}
+		if (count < parallelThreshold)
+			decide(0, count);
+		else
+			pool.invoke(new Batch(0, count));
+		this.tanks = null;
+	}
+
+	/**
+	 * @param i index of the tank in the array given to {@link #run}
+	 * @return decision of the tank, meaningful only for enemies
+	 */
+	TankDecision get(int i) {
+		return decisions[i];
+	}
+
+	private void decide(int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (tanks[i] instanceof EnemyTank)
+				((EnemyTank) tanks[i]).getController().decide(snapshot, i, decisions[i]);
+		}
+	}
+
+	private class Batch extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		Batch(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BATCH) {
+				decide(from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Batch(from, middle), new Batch(middle, to));
+		}
+	}
+}
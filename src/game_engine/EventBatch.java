@@ -0,0 +1,40 @@
+package game_engine;
+
+import java.util.Arrays;
+
+/**
+ * Events of one tick in the order they happened. The batch is reused, so listeners must not keep it after
+ * {@link GameEventListener#onEvents(EventBatch)} returns
+ */
+public class EventBatch {
+
+	private GameEvent[] types = new GameEvent[16];
+	private int[] values = new int[16];
+	private int size;
+
+	void add(GameEvent type, int value) {
+		if (size == types.length) {
+			types = Arrays.copyOf(types, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		types[size] = type;
+		values[size] = value;
+		size++;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public GameEvent getType(int i) {
+		return types[i];
+	}
+
+	public int getValue(int i) {
+		return values[i];
+	}
+}
@@ -0,0 +1,52 @@
+package game_engine;
+
+import java.util.Arrays;
+
+/**
+ * Collects the events during a tick and passes them to the listeners in one batch at the end of it.
+ * Events are published and dispatched on the simulation thread, listeners can be added from any thread. A network
+ * client publishes the events it receives from the host the same way.
+ * Doesn't allocate once the batch has grown to the usual number of events per tick.
+ */
+public class EventBus {
+
+	private final EventBatch batch = new EventBatch();
+	private volatile GameEventListener[] listeners = new GameEventListener[0];
+
+	public synchronized void subscribe(GameEventListener listener) {
+		GameEventListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+		updated[listeners.length] = listener;
+		listeners = updated;
+	}
+
+	public synchronized void unsubscribe(GameEventListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				GameEventListener[] updated = new GameEventListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, updated, 0, i);
+				System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+				listeners = updated;
+				return;
+			}
+		}
+	}
+
+	public void publish(GameEvent type) {
+		batch.add(type, 0);
+	}
+
+	public void publish(GameEvent type, int value) {
+		batch.add(type, value);
+	}
+
+	/**
+	 * Pass the events of the tick to the listeners in the order they subscribed
+	 */
+	public void dispatch() {
+		if (batch.size() == 0)
+			return;
+		for (GameEventListener listener : listeners)
+			listener.onEvents(batch);
+		batch.clear();
+	}
+}
@@ -0,0 +1,198 @@
+package game_engine;
+
+import game_objects.movables.Direction;
+import map_tools.Map;
+
+import static game_content.GameField.BYTE;
+import static game_content.GameField.MAP_SIZE;
+
+/**
+ * Distances from every position of a tank on the grid to the base, shared by all the enemies. A tank takes two by two
+ * tiles, so positions are the tiles of its top left corner. Steel walls and water can't be passed, brick walls can be
+ * shot through, so they cost {@link #BRICK_COST} steps.
+ * <p>
+ * The field is computed once per level by a breadth first search from the base. Bricks only disappear, so distances
+ * only decrease, and when a brick tile is cleared the search is continued from the positions around it instead of
+ * being run again. Cleared tiles come as {@link GameEvent#BRICK_DESTROYED} at the end of the tick.
+ */
+public class FlowField implements GameEventListener {
+
+	/**
+	 * Distance of the positions the base can't be reached from
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+	/**
+	 * Number of tank positions in a row or a column
+	 */
+	public static final int SIZE = MAP_SIZE - 1;
+	/**
+	 * How many steps shooting through a brick wall is worth
+	 */
+	private static final int BRICK_COST = 4;
+	private static final int BLOCKED = -1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final Map map;
+	private final int[] distances = new int[SIZE * SIZE];
+	private final int[] costs = new int[SIZE * SIZE];
+	private final boolean[] goals = new boolean[SIZE * SIZE];
+	/**
+	 * Circular queue of the positions whose distance has decreased
+	 */
+	private final int[] queue = new int[SIZE * SIZE];
+	private final boolean[] queued = new boolean[SIZE * SIZE];
+	private int head;
+	private int size;
+
+	public FlowField(Map map) {
+		this.map = map;
+		int baseColumn = map.getBase().getX() / BYTE, baseRow = map.getBase().getY() / BYTE;
+		int baseTiles = map.getBase().getWidth() / BYTE;
+		for (int row = 0; row < SIZE; row++) {
+			for (int column = 0; column < SIZE; column++) {
+				int p = row * SIZE + column;
+				costs[p] = cost(column, row);
+				distances[p] = UNREACHABLE;
+				//Every position where the tank would touch the base is a goal
+				if (column + 1 >= baseColumn && column < baseColumn + baseTiles
+						&& row + 1 >= baseRow && row < baseRow + baseTiles) {
+					goals[p] = true;
+					costs[p] = 1;
+					distances[p] = 0;
+					enqueue(p);
+				}
+			}
+		}
+		propagate();
+	}
+
+	@Override
+	public void onEvents(EventBatch events) {
+		for (int i = 0; i < events.size(); i++) {
+			if (events.getType(i) == GameEvent.BRICK_DESTROYED)
+				tileCleared(events.getValue(i));
+		}
+	}
+
+	/**
+	 * Continue the search from the positions that include the cleared tile
+	 *
+	 * @param index index of the tile, row * MAP_SIZE + column
+	 */
+	public void tileCleared(int index) {
+		int tileColumn = index % MAP_SIZE, tileRow = index / MAP_SIZE;
+		for (int row = Math.max(0, tileRow - 1); row <= Math.min(SIZE - 1, tileRow); row++) {
+			for (int column = Math.max(0, tileColumn - 1); column <= Math.min(SIZE - 1, tileColumn); column++) {
+				int p = row * SIZE + column;
+				if (goals[p])
+					continue;
+				costs[p] = cost(column, row);
+				if (costs[p] == BLOCKED)
+					continue;
+				for (Direction d : DIRECTIONS) {
+					int n = neighbour(column, row, d);
+					if (n >= 0 && distances[n] != UNREACHABLE && costs[n] != BLOCKED)
+						distances[p] = Math.min(distances[p], distances[n] + costs[n]);
+				}
+				if (distances[p] != UNREACHABLE)
+					enqueue(p);
+			}
+		}
+		propagate();
+	}
+
+	/**
+	 * @return number of steps from the position to the base or {@link #UNREACHABLE}
+	 */
+	public int getDistance(int column, int row) {
+		return distances[row * SIZE + column];
+	}
+
+	/**
+	 * Direction of the shortest way to the base
+	 *
+	 * @param column column of the top left tile of the tank
+	 * @param row    row of the top left tile of the tank
+	 * @return direction or null if the tank is already at the base or the base can't be reached
+	 */
+	public Direction getDirection(int column, int row) {
+		column = Math.max(0, Math.min(SIZE - 1, column));
+		row = Math.max(0, Math.min(SIZE - 1, row));
+		if (goals[row * SIZE + column])
+			return null;
+		Direction best = null;
+		long bestDistance = UNREACHABLE;
+		for (Direction d : DIRECTIONS) {
+			int n = neighbour(column, row, d);
+			if (n < 0 || distances[n] == UNREACHABLE || costs[n] == BLOCKED)
+				continue;
+			long distance = (long) distances[n] + costs[n];
+			if (distance < bestDistance) {
+				bestDistance = distance;
+				best = d;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Direction of the shortest way to the base for a tank at the pixel coordinates
+	 */
+	public Direction getDirectionAt(int x, int y) {
+		return getDirection(Math.floorDiv(x + BYTE / 2, BYTE), Math.floorDiv(y + BYTE / 2, BYTE));
+	}
+
+	private void propagate() {
+		while (size > 0) {
+			int n = queue[head];
+			head = (head + 1) % queue.length;
+			size--;
+			queued[n] = false;
+			int column = n % SIZE, row = n / SIZE;
+			int distance = distances[n] + costs[n];
+			for (Direction d : DIRECTIONS) {
+				int p = neighbour(column, row, d);
+				if (p >= 0 && !goals[p] && costs[p] != BLOCKED && distance < distances[p]) {
+					distances[p] = distance;
+					enqueue(p);
+				}
+			}
+		}
+	}
+
+	private void enqueue(int p) {
+		if (queued[p])
+			return;
+		queued[p] = true;
+		queue[(head + size) % queue.length] = p;
+		size++;
+	}
+
+	/**
+	 * @return index of the neighbour position or -1 if it's outside of the map
+	 */
+	private static int neighbour(int column, int row, Direction d) {
+		column += d.getDx();
+		row += d.getDy();
+		if (column < 0 || row < 0 || column >= SIZE || row >= SIZE)
+			return -1;
+		return row * SIZE + column;
+	}
+
+	/**
+	 * Cost of entering the position: the most expensive of the four tiles under the tank
+	 */
+	private int cost(int column, int row) {
+		int cost = 1;
+		for (int r = row; r <= row + 1; r++) {
+			for (int c = column; c <= column + 1; c++) {
+				byte kind = map.getKind(c, r);
+				if (kind == Map.STEEL || kind == Map.WATER)
+					return BLOCKED;
+				if (kind == Map.BRICK)
+					cost = BRICK_COST;
+			}
+		}
+		return cost;
+	}
+}
@@ -0,0 +1,245 @@
+package game_engine;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how long every phase of a tick and of drawing takes, how many objects are in the world and how much memory
+ * the simulation thread allocates per tick.
+ * <p>
+ * Percentiles are calculated over the last {@link #WINDOW} samples. Every tick can also be streamed into a CSV file.
+ * Tick phases are recorded from the simulation thread, paint phases from the rendering thread. Frames are drawn more
+ * often than ticks, so the paint phases have more samples.
+ */
+public class FrameProfiler {
+
+	/**
+	 * Number of the last samples used for percentiles
+	 */
+	public static final int WINDOW = 500;
+	/**
+	 * Percentiles shown in the report
+	 */
+	private static final double[] PERCENTILES = {50, 95, 99};
+	/**
+	 * How many rows are buffered before they are flushed to the CSV file
+	 */
+	private static final int CSV_FLUSH_ROWS = 50;
+
+	public enum Phase {
+		TIMERS("timers"),
+		DECISIONS("ai decisions"),
+		TANK_COLLISION("tanks"),
+		BULLETS("bullets"),
+		POWER_UPS("power-ups"),
+		CLEANUP("cleanup"),
+		TICK("tick total"),
+		PAINT_TERRAIN("draw terrain"),
+		PAINT_SPRITES("collect sprites"),
+		PAINT_DIRTY("draw dirty"),
+		PAINT_BLIT("draw frame"),
+		PAINT("draw total"),
+		FRAME("frame interval");
+
+		private final String title;
+
+		Phase(String title) {
+			this.title = title;
+		}
+
+		public boolean isPaint() {
+			return ordinal() >= PAINT_TERRAIN.ordinal();
+		}
+	}
+
+	public enum Counter {
+		TANKS, BULLETS, EXPLOSIONS, POWER_UPS
+	}
+
+	private final RollingHistogram[] phases = new RollingHistogram[Phase.values().length];
+	private final RollingHistogram allocated = new RollingHistogram(WINDOW);
+	/**
+	 * Phase durations of the current tick, written to CSV
+	 */
+	private final long[] tickPhases = new long[Phase.values().length];
+	private final int[] counters = new int[Counter.values().length];
+	private final long[] percentiles = new long[PERCENTILES.length];
+
+	private final com.sun.management.ThreadMXBean allocationBean;
+	private long tickStart;
+	private long allocationStart;
+
+	private volatile BufferedWriter csv;
+	private volatile File csvFile;
+	private int csvRows;
+
+	public FrameProfiler() {
+		for (int i = 0; i < phases.length; i++)
+			phases[i] = new RollingHistogram(WINDOW);
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported())
+			allocationBean = (com.sun.management.ThreadMXBean) bean;
+		else
+			allocationBean = null;
+	}
+
+	/**
+	 * Start measuring a tick
+	 *
+	 * @return start time of the first phase
+	 */
+	public long beginTick() {
+		allocationStart = allocatedBytes();
+		tickStart = System.nanoTime();
+		return tickStart;
+	}
+
+	/**
+	 * Record the end of a phase
+	 *
+	 * @param phase phase that has ended
+	 * @param start start time of the phase
+	 * @return end time of the phase, which is the start of the next one
+	 */
+	public long phase(Phase phase, long start) {
+		long now = System.nanoTime();
+		phases[phase.ordinal()].record(now - start);
+		if (!phase.isPaint())
+			tickPhases[phase.ordinal()] = now - start;
+		return now;
+	}
+
+	/**
+	 * Set the current number of objects
+	 *
+	 * @param counter kind of objects
+	 * @param value   number of objects
+	 */
+	public void count(Counter counter, int value) {
+		counters[counter.ordinal()] = value;
+	}
+
+	/**
+	 * Finish measuring a tick
+	 *
+	 * @param tick number of the tick
+	 */
+	public void endTick(long tick) {
+		phase(Phase.TICK, tickStart);
+		long bytes = allocatedBytes() - allocationStart;
+		allocated.record(bytes);
+		if (csv != null)
+			writeRow(tick, bytes);
+	}
+
+	/**
+	 * Start streaming every tick into the file
+	 *
+	 * @param file CSV file, overwritten if exists
+	 */
+	public synchronized void startCsv(File file) {
+		stopCsv();
+		try {
+			csv = new BufferedWriter(new FileWriter(file));
+			csvFile = file;
+			StringBuilder header = new StringBuilder("tick");
+			for (Phase phase : Phase.values())
+				if (!phase.isPaint())
+					header.append(',').append(phase.name().toLowerCase()).append("_ns");
+			header.append(",last_paint_ns");
+			for (Counter counter : Counter.values())
+				header.append(',').append(counter.name().toLowerCase());
+			header.append(",allocated_bytes");
+			csv.write(header.toString());
+			csv.newLine();
+		} catch (IOException e) {
+			e.printStackTrace();
+			csv = null;
+		}
+	}
+
+	/**
+	 * Stop streaming and close the file
+	 */
+	public synchronized void stopCsv() {
+		if (csv == null)
+			return;
+		try {
+			csv.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		csv = null;
+		csvFile = null;
+	}
+
+	/**
+	 * @return file the ticks are streamed into or null if they are not
+	 */
+	public File getCsvFile() {
+		return csvFile;
+	}
+
+	private synchronized void writeRow(long tick, long bytes) {
+		if (csv == null)
+			return;
+		try {
+			csv.write(Long.toString(tick));
+			for (Phase phase : Phase.values()) {
+				if (!phase.isPaint()) {
+					csv.write(',');
+					csv.write(Long.toString(tickPhases[phase.ordinal()]));
+				}
+			}
+			csv.write(',');
+			csv.write(Long.toString(phases[Phase.PAINT.ordinal()].getLast()));
+			for (int counter : counters) {
+				csv.write(',');
+				csv.write(Integer.toString(counter));
+			}
+			csv.write(',');
+			csv.write(Long.toString(bytes));
+			csv.newLine();
+			if (++csvRows % CSV_FLUSH_ROWS == 0)
+				csv.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+			stopCsv();
+		}
+	}
+
+	private long allocatedBytes() {
+		return allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Human readable report for the overlay
+	 *
+	 * @return lines of the report
+	 */
+	public List<String> report() {
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("%-16s %7s %7s %7s", "phase (us)", "p50", "p95", "p99"));
+		for (Phase phase : Phase.values()) {
+			phases[phase.ordinal()].percentiles(PERCENTILES, percentiles);
+			lines.add(String.format("%-16s %7.1f %7.1f %7.1f", phase.title,
+					percentiles[0] / 1000.0, percentiles[1] / 1000.0, percentiles[2] / 1000.0));
+		}
+		allocated.percentiles(PERCENTILES, percentiles);
+		lines.add(String.format("%-16s %7d %7d %7d", "alloc B/tick", percentiles[0], percentiles[1], percentiles[2]));
+		StringBuilder counts = new StringBuilder();
+		for (Counter counter : Counter.values())
+			counts.append(counter.name().toLowerCase()).append('=').append(counters[counter.ordinal()]).append(' ');
+		lines.add(counts.toString().trim());
+		if (csvFile != null)
+			lines.add("recording to " + csvFile.getName());
+		return lines;
+	}
+}
@@ -0,0 +1,53 @@
+package game_engine;
+
+/**
+ * Kinds of the things that happen in the world. Every event has one int value, its meaning depends on the kind
+ */
+public enum GameEvent {
+	/**
+	 * Tank was destroyed, value is {@link #ENEMY} or {@link #PLAYER}
+	 */
+	TANK_DESTROYED,
+	/**
+	 * Number of player respawns has changed, value is the respawns left, -1 if there are none
+	 */
+	RESPAWNS_CHANGED,
+	/**
+	 * Base was hit
+	 */
+	BASE_DEFEATED,
+	/**
+	 * Player picked up a power up, value is the ordinal of its type
+	 */
+	POWER_UP_COLLECTED,
+	/**
+	 * The last quarter of a brick wall was destroyed, value is the index of the tile: row * MAP_SIZE + column
+	 */
+	BRICK_DESTROYED,
+	/**
+	 * Enemies were frozen by the time stop power up
+	 */
+	TIME_STOPPED,
+	/**
+	 * Enemies can move again after the time stop
+	 */
+	TIME_RESUMED,
+	/**
+	 * Explosion makes a sound
+	 */
+	EXPLOSION,
+	/**
+	 * Player lost all the respawns or the base was defeated, the world won't advance anymore
+	 */
+	GAME_LOST,
+	/**
+	 * All the enemies were destroyed some time ago, the world won't advance anymore
+	 */
+	LEVEL_WON;
+
+	/**
+	 * Values of {@link #TANK_DESTROYED}
+	 */
+	public static final int ENEMY = 0;
+	public static final int PLAYER = 1;
+}
@@ -0,0 +1,14 @@
+package game_engine;
+
+/**
+ * Receives the events of the world once per tick
+ */
+public interface GameEventListener {
+
+	/**
+	 * Called from the simulation thread at the end of every tick that had events
+	 *
+	 * @param events events of the tick, valid only during the call
+	 */
+	void onEvents(EventBatch events);
+}
@@ -0,0 +1,170 @@
+package game_engine;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static game_content.GameField.ENEMY_COUNT;
+import static game_content.GameField.MAX_ENEMIES;
+
+/**
+ * Numbers the balance of the game depends on. Defaults are the rules of the normal game, a world takes its rules when
+ * it is created, so changing them later doesn't affect it.
+ * <p>
+ * Rules can be written as text, for example
+ * {@code enemyCount=20,maxEnemies=6,playerFireDelays=1500/1000/500,enemyFireDelay=4000,powerUpChance=0.001}, see
+ * {@link #parse(String)}.
+ */
+public class GameRules {
+
+	/**
+	 * Milliseconds between the shots of the player tank on every upgrade level, same as the tank has by itself
+	 */
+	private static final int[] DEFAULT_PLAYER_FIRE_DELAYS = {1500, 1000, 500};
+	private static final int DEFAULT_ENEMY_FIRE_DELAY = 4000;
+	private static final double DEFAULT_POWER_UP_CHANCE = 0.001;
+
+	private int enemyCount = ENEMY_COUNT;
+	private int maxEnemies = MAX_ENEMIES;
+	private int[] playerFireDelays = DEFAULT_PLAYER_FIRE_DELAYS.clone();
+	private int enemyFireDelay = DEFAULT_ENEMY_FIRE_DELAY;
+	private double powerUpChance = DEFAULT_POWER_UP_CHANCE;
+
+	/**
+	 * Default rules
+	 */
+	public GameRules() {
+	}
+
+	public GameRules(GameRules other) {
+		enemyCount = other.enemyCount;
+		maxEnemies = other.maxEnemies;
+		playerFireDelays = other.playerFireDelays.clone();
+		enemyFireDelay = other.enemyFireDelay;
+		powerUpChance = other.powerUpChance;
+	}
+
+	/**
+	 * Read the rules from text of comma separated name=value pairs, the rules that aren't mentioned keep their
+	 * defaults
+	 *
+	 * @param text for example {@code enemyCount=20,powerUpChance=0.002}
+	 * @throws IllegalArgumentException if a name is unknown or a value is wrong
+	 */
+	public static GameRules parse(String text) {
+		GameRules rules = new GameRules();
+		for (String pair : text.split(",")) {
+			if (pair.trim().isEmpty())
+				continue;
+			int equals = pair.indexOf('=');
+			if (equals < 0)
+				throw new IllegalArgumentException("Not a name=value pair: " + pair);
+			String name = pair.substring(0, equals).trim();
+			String value = pair.substring(equals + 1).trim();
+			switch (name) {
+				case "enemyCount":
+					rules.setEnemyCount(Integer.parseInt(value));
+					break;
+				case "maxEnemies":
+					rules.setMaxEnemies(Integer.parseInt(value));
+					break;
+				case "playerFireDelays":
+					String[] delays = value.split("/");
+					int[] parsed = new int[delays.length];
+					for (int i = 0; i < delays.length; i++)
+						parsed[i] = Integer.parseInt(delays[i].trim());
+					rules.setPlayerFireDelays(parsed);
+					break;
+				case "enemyFireDelay":
+					rules.setEnemyFireDelay(Integer.parseInt(value));
+					break;
+				case "powerUpChance":
+					rules.setPowerUpChance(Double.parseDouble(value));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown rule: " + name);
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * @return enemies that have to be destroyed to win the level
+	 */
+	public int getEnemyCount() {
+		return enemyCount;
+	}
+
+	public void setEnemyCount(int enemyCount) {
+		if (enemyCount < 1)
+			throw new IllegalArgumentException("Enemy count: " + enemyCount);
+		this.enemyCount = enemyCount;
+	}
+
+	/**
+	 * @return enemies on the field at once at most
+	 */
+	public int getMaxEnemies() {
+		return maxEnemies;
+	}
+
+	public void setMaxEnemies(int maxEnemies) {
+		if (maxEnemies < 1)
+			throw new IllegalArgumentException("Max enemies: " + maxEnemies);
+		this.maxEnemies = maxEnemies;
+	}
+
+	/**
+	 * @return milliseconds between the shots of the player tank on every upgrade level. Must not be modified
+	 */
+	public int[] getPlayerFireDelays() {
+		return playerFireDelays;
+	}
+
+	/**
+	 * @param playerFireDelays milliseconds between the shots on the first, second and third upgrade level
+	 */
+	public void setPlayerFireDelays(int[] playerFireDelays) {
+		if (playerFireDelays.length != DEFAULT_PLAYER_FIRE_DELAYS.length)
+			throw new IllegalArgumentException("Player fire delays: " + Arrays.toString(playerFireDelays));
+		this.playerFireDelays = playerFireDelays.clone();
+	}
+
+	/**
+	 * @return milliseconds between the shots of an enemy tank
+	 */
+	public int getEnemyFireDelay() {
+		return enemyFireDelay;
+	}
+
+	public void setEnemyFireDelay(int enemyFireDelay) {
+		if (enemyFireDelay < 0)
+			throw new IllegalArgumentException("Enemy fire delay: " + enemyFireDelay);
+		this.enemyFireDelay = enemyFireDelay;
+	}
+
+	/**
+	 * @return chance of a power-up appearing on a tick
+	 */
+	public double getPowerUpChance() {
+		return powerUpChance;
+	}
+
+	public void setPowerUpChance(double powerUpChance) {
+		//NaN fails both comparisons
+		if (!(powerUpChance >= 0 && powerUpChance <= 1))
+			throw new IllegalArgumentException("Power-up chance: " + powerUpChance);
+		this.powerUpChance = powerUpChance;
+	}
+
+	/**
+	 * @return the rules as text {@link #parse(String)} reads
+	 */
+	@Override
+	public String toString() {
+		StringBuilder delays = new StringBuilder();
+		for (int delay : playerFireDelays)
+			delays.append(delays.length() == 0 ? "" : "/").append(delay);
+		return String.format(Locale.ROOT, "enemyCount=%d,maxEnemies=%d,playerFireDelays=%s,enemyFireDelay=%d,powerUpChance=%s",
+				enemyCount, maxEnemies, delays, enemyFireDelay, powerUpChance);
+	}
+}
@@ -0,0 +1,41 @@
+package game_engine;
+
+/**
+ * Game shown in the window: a local {@link GameWorld} or a world played over the network. The window advances the
+ * session every tick, draws its snapshots, listens to its events and sends the inputs of the local player to it
+ */
+public interface GameSession {
+
+	/**
+	 * Advance the game by one tick. Called from the animator thread
+	 */
+	void tick();
+
+	/**
+	 * Apply the input of the local player on the next tick. Can be called from any thread
+	 */
+	void input(PlayerInput input);
+
+	/**
+	 * Local player tank fires on the next tick. Can be called from any thread
+	 */
+	default void requestPlayerFire() {
+		input(PlayerInput.FIRE);
+	}
+
+	/**
+	 * @return true when the game has ended and the session doesn't advance anymore
+	 */
+	boolean isOver();
+
+	SnapshotBuffer getSnapshots();
+
+	EventBus getEvents();
+
+	FrameProfiler getProfiler();
+
+	/**
+	 * Release everything the session holds once the game is left. Called from the animator thread
+	 */
+	void close();
+}
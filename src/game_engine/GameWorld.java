@@ -0,0 +1,937 @@
+package game_engine;
+
+import game_objects.map_objects.impassables.Base;
+import game_objects.map_objects.powerups.PowerUp;
+import game_objects.map_objects.turf.Explosion;
+import game_objects.movables.*;
+import map_tools.Level;
+import map_tools.Map;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+
+import static game_content.GameField.*;
+
+/**
+ * Whole game state and the rules of the game without any rendering.
+ * <p>
+ * World advances only when {@link #tick()} is called, every tick is {@link game_content.GameField#DELAY} milliseconds
+ * of the game time, so it can be driven by the game window as well as run as fast as possible without a display.
+ * Separate phases of the tick are package-private, so they can be benchmarked one by one.
+ * <p>
+ * The world is deterministic: all randomness comes from one seed, time is counted in ticks, objects are kept in the
+ * order they were added and the player affects the world only through {@link PlayerInput}s applied at the start of a
+ * tick. So a game can be recorded with a {@link ReplayRecorder} and repeated exactly by a {@link Replay}.
+ */
+public class GameWorld implements GameSession {
+
+	/**
+	 * Ticks between enemy spawns
+	 */
+	public static final int SPAWN_TICKS = 2000 / DELAY;
+	/**
+	 * Ticks between player death without respawns and the end of the game
+	 */
+	public static final int PLAYER_LOST_TICKS = 3000 / DELAY;
+	/**
+	 * Ticks between base defeat and the end of the game
+	 */
+	public static final int BASE_LOST_TICKS = 1000 / DELAY;
+	/**
+	 * Ticks between destroying the last enemy and the end of the game
+	 */
+	public static final int LEVEL_WON_TICKS = 3000 / DELAY;
+	/**
+	 * Ticks between picking up the time stop and the actual stop
+	 */
+	public static final int TIME_STOP_TICKS = 4000 / DELAY;
+	/**
+	 * How many ticks the time is stopped
+	 */
+	public static final int TIME_STOP_DURATION_TICKS = 5700 / DELAY;
+	/**
+	 * System property with a path of CSV file every tick is streamed into
+	 */
+	public static final String PROFILE_CSV_PROPERTY = "tankwar.profile.csv";
+	/**
+	 * System property with a path of replay file the game is recorded into
+	 */
+	public static final String REPLAY_PROPERTY = "tankwar.replay";
+	/**
+	 * System property with a seed of the game, random if not set
+	 */
+	public static final String SEED_PROPERTY = "tankwar.seed";
+	/**
+	 * Minimal number of tanks whose decisions are made in parallel. Below it splitting the work costs more than it saves
+	 */
+	public static final int PARALLEL_DECISIONS_THRESHOLD = 32;
+	/**
+	 * Maximum number of players in one world
+	 */
+	public static final int MAX_PLAYERS = Player.maxPlayers();
+	/**
+	 * Maximum number of bullets of one kind kept for reuse
+	 */
+	private static final int BULLET_POOL_CAPACITY = 128;
+	/**
+	 * Maximum number of explosions kept for reuse
+	 */
+	private static final int EXPLOSION_POOL_CAPACITY = 64;
+
+	/**
+	 * Only the simulation thread touches the sprites, the renderer draws from {@link #snapshots}
+	 */
+	private final List<Explosion> explosions = new ArrayList<>();
+	private final List<Tank> tanks = new ArrayList<>();
+	private final List<Bullet> bullets = new ArrayList<>();
+	private final List<PowerUp> powerUps = new ArrayList<>();
+	private final SnapshotBuffer snapshots = new SnapshotBuffer();
+	private Base base;
+	private Map map;
+	/**
+	 * Players in the order their inputs are applied, the first one is the local player of the window
+	 */
+	private final Player[] players;
+	private int tankAmount;
+	/**
+	 * Tanks and bullets copied into arrays once per tick, so nested loops of the tick don't create iterators
+	 */
+	private Tank[] tankArray = new Tank[MAX_ENEMIES + MAX_PLAYERS];
+	private int tankCount;
+	private Bullet[] bulletArray = new Bullet[32];
+	private int bulletCount;
+	private final SweepAndPrune broadPhase = new SweepAndPrune();
+	private final DecisionPhase decisionPhase = new DecisionPhase(ForkJoinPool.commonPool(), PARALLEL_DECISIONS_THRESHOLD);
+	private LongFunction<TankController> controllers = BaseSeekingTankController::new;
+	private FlowField flowField;
+	private final Pool<Bullet> bulletPool = new Pool<>(() -> new Bullet(0, 0, Direction.NORTH, 2), BULLET_POOL_CAPACITY);
+	private final Pool<EnemyBullet> enemyBulletPool = new Pool<>(() -> new EnemyBullet(0, 0, Direction.NORTH, 2), BULLET_POOL_CAPACITY);
+	private final FrameProfiler profiler = new FrameProfiler();
+	private final Pool<Explosion> explosionPool = new Pool<>(() -> new Explosion(0, 0), EXPLOSION_POOL_CAPACITY);
+	private ReplayRecorder recorder;
+
+	private final EventBus events = new EventBus();
+	private final Level level;
+	private final GameRules rules;
+	private final long seed;
+	private final Random rand;
+	private boolean timeStopped;
+	private boolean baseLost;
+	private long tick;
+	/**
+	 * Timed effects of the game, advanced at the start of every tick
+	 */
+	private final TickScheduler scheduler = new TickScheduler();
+	/**
+	 * Set once the game is ending
+	 */
+	private TickScheduler.Handle endTimer;
+	private int enemiesDestroyed;
+	private TickScheduler.Handle winTimer;
+	private boolean won;
+	private TickScheduler.Handle timeStopTimer;
+	private TickScheduler.Handle timeResumeTimer;
+	private boolean over;
+
+	/**
+	 * Create the world with the seed from {@link #SEED_PROPERTY} or a random one. The game is recorded if
+	 * {@link #REPLAY_PROPERTY} is set and profiled into {@link #PROFILE_CSV_PROPERTY}
+	 */
+	public GameWorld(Level level, int respawns) {
+		this(level, Map.getLevelMap(level), respawns);
+	}
+
+	/**
+	 * Same as {@link #GameWorld(Level, int)}, but on a map that was already loaded
+	 *
+	 * @param map new map of the level, nobody else may use it
+	 */
+	public GameWorld(Level level, Map map, int respawns) {
+		this(level, map, respawns, Long.getLong(SEED_PROPERTY, new Random().nextLong()));
+		String replayPath = System.getProperty(REPLAY_PROPERTY);
+		if (replayPath != null)
+			startRecording(new File(replayPath));
+		startCsvFromProperty();
+	}
+
+	/**
+	 * @param respawns respawns the player has at the start of the level
+	 * @param seed     seed of everything random in the game, same seed and same inputs lead to the same game
+	 */
+	public GameWorld(Level level, int respawns, long seed) {
+		this(level, Map.getLevelMap(level), respawns, seed);
+	}
+
+	/**
+	 * @param map new map of the level, nobody else may use it
+	 */
+	public GameWorld(Level level, Map map, int respawns, long seed) {
+		this(level, map, 1, respawns, seed);
+	}
+
+	/**
+	 * Worlds made with a seed don't read the system properties, so many of them can run in one process
+	 *
+	 * @param playerCount number of players, up to {@link #MAX_PLAYERS}
+	 * @param respawns    respawns every player has at the start of the level
+	 */
+	public GameWorld(Level level, Map map, int playerCount, int respawns, long seed) {
+		this(level, map, playerCount, respawns, seed, new GameRules());
+	}
+
+	/**
+	 * @param rules rules of the game, copied by the world
+	 */
+	public GameWorld(Level level, Map map, int playerCount, int respawns, long seed, GameRules rules) {
+		if (playerCount < 1 || playerCount > MAX_PLAYERS)
+			throw new IllegalArgumentException("Players: " + playerCount);
+		players = new Player[playerCount];
+		for (int i = 0; i < playerCount; i++)
+			players[i] = new Player(i, respawns);
+		this.level = level;
+		this.rules = new GameRules(rules);
+		this.seed = seed;
+		rand = new Random(seed);
+		initMap(map);
+		publishSnapshot();
+	}
+
+	/**
+	 * Stream every tick into the file from {@link #PROFILE_CSV_PROPERTY} if it is set
+	 */
+	public void startCsvFromProperty() {
+		String csvPath = System.getProperty(PROFILE_CSV_PROPERTY);
+		if (csvPath != null)
+			profiler.startCsv(new File(csvPath));
+	}
+
+	private void initMap(Map map) {
+		this.map = map;
+		base = map.getBase();
+		flowField = new FlowField(map);
+		map.setClearedTileListener(index -> events.publish(GameEvent.BRICK_DESTROYED, index));
+		events.subscribe(flowField);
+		for (Player player : players)
+			spawnPlayerTank(player);
+		//The first enemy comes on the first tick, after the world has been configured
+		scheduler.scheduleRepeating(1, SPAWN_TICKS, this::spawnEnemyTank);
+	}
+
+	private void spawnPlayerTank(Player player) {
+		if (player.tank != null)
+			tanks.remove(player.tank);
+		tanks.add(player.spawn(rules));
+	}
+
+	private void spawnEnemyTank() {
+		if (tanks.size() < rules.getMaxEnemies() + players.length && tankAmount < rules.getEnemyCount()) {
+			List<Integer> list = new ArrayList<>();
+			list.add(0);
+			list.add(BYTE*12);
+			list.add(BYTE*12*2);
+			Collections.shuffle(list, rand);
+			for (int x : list ) {
+				if (noTankAt(x, 0)) {
+					tankAmount++;
+					EnemyTank tank = new EnemyTank(x, 0, Direction.SOUTH);
+					tank.setDelay(rules.getEnemyFireDelay());
+					tank.setController(controllers.apply(rand.nextLong()));
+					tanks.add(tank);
+					break;
+				}
+			}
+		}
+	}
+
+	private boolean noTankAt(int x, int y) {
+		for (Tank t : tanks) {
+			if (t.intersects(x, y, 2 * BYTE, 2 * BYTE))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * All actions that should be performed every game tick
+	 */
+	@Override
+	public void tick() {
+		if (over)
+			return;
+		tick++;
+		long time = profiler.beginTick();
+		savePositions();
+		applyInputs();
+		updateTimers();
+		time = profiler.phase(FrameProfiler.Phase.TIMERS, time);
+		refreshTanks();
+		decideEnemies();
+		time = profiler.phase(FrameProfiler.Phase.DECISIONS, time);
+		firePlayerTank();
+		checkAllTanksCollision();
+		time = profiler.phase(FrameProfiler.Phase.TANK_COLLISION, time);
+		updateBullets();
+		time = profiler.phase(FrameProfiler.Phase.BULLETS, time);
+		addPowerUps();
+		time = profiler.phase(FrameProfiler.Phase.POWER_UPS, time);
+		removeDestroyed();
+		updateExplosions();
+		profiler.phase(FrameProfiler.Phase.CLEANUP, time);
+		profiler.count(FrameProfiler.Counter.TANKS, tanks.size());
+		profiler.count(FrameProfiler.Counter.BULLETS, bullets.size());
+		profiler.count(FrameProfiler.Counter.EXPLOSIONS, explosions.size());
+		profiler.count(FrameProfiler.Counter.POWER_UPS, powerUps.size());
+		events.dispatch();
+		publishSnapshot();
+		profiler.endTick(tick);
+		if (over)
+			stopRecording();
+	}
+
+	/**
+	 * Remember where the moving objects start this tick, so the renderer can draw them between the two positions
+	 */
+	private void savePositions() {
+		for (int i = 0; i < tanks.size(); i++)
+			tanks.get(i).savePosition();
+		for (int i = 0; i < bullets.size(); i++)
+			bullets.get(i).savePosition();
+	}
+
+	/**
+	 * Copy what the renderer needs into the back snapshot and publish it
+	 */
+	private void publishSnapshot() {
+		RenderSnapshot snapshot = snapshots.getBack();
+		snapshot.clear(tick);
+		snapshot.add(base);
+		for (int i = 0; i < tanks.size(); i++)
+			snapshot.add(tanks.get(i));
+		snapshot.startCover();
+		for (int i = 0; i < bullets.size(); i++)
+			snapshot.add(bullets.get(i));
+		for (int i = 0; i < powerUps.size(); i++)
+			snapshot.add(powerUps.get(i));
+		for (int i = 0; i < explosions.size(); i++)
+			snapshot.add(explosions.get(i));
+		snapshot.copyTiles(map);
+		snapshots.publish();
+	}
+
+	private void updateTimers() {
+		scheduler.advance();
+	}
+
+	/**
+	 * The game ends after the given ticks, unless the level is won earlier
+	 */
+	private void startEnd(int ticks) {
+		endTimer = scheduler.schedule(ticks, this::gameLost);
+		//Losing on the same tick as winning takes precedence
+		if (winTimer != null && winTimer.getDueTick() >= endTimer.getDueTick())
+			winTimer.cancel();
+	}
+
+	private void gameLost() {
+		over = true;
+		profiler.stopCsv();
+		events.publish(GameEvent.GAME_LOST);
+	}
+
+	private void levelWon() {
+		over = true;
+		won = true;
+		profiler.stopCsv();
+		events.publish(GameEvent.LEVEL_WON);
+	}
+
+	/**
+	 * Time stop power-up was picked up, the time stops a while later. Picking another one starts the wait anew
+	 */
+	private void startTimeStop() {
+		if (timeStopTimer != null)
+			timeStopTimer.cancel();
+		timeStopTimer = scheduler.schedule(TIME_STOP_TICKS, this::stopTime);
+	}
+
+	private void stopTime() {
+		timeStopped = true;
+		if (timeResumeTimer != null)
+			timeResumeTimer.cancel();
+		//The tick of the stop is the first tick of the duration
+		timeResumeTimer = scheduler.schedule(TIME_STOP_DURATION_TICKS - 1, this::resumeTime);
+		events.publish(GameEvent.TIME_STOPPED);
+	}
+
+	private void resumeTime() {
+		//Stop due on the same tick prolongs the stopped time instead
+		if (timeStopTimer.isPending() && timeStopTimer.getDueTick() == scheduler.getTick())
+			return;
+		timeStopped = false;
+		events.publish(GameEvent.TIME_RESUMED);
+	}
+
+	private void addPowerUps() {
+		if(rand.nextDouble() < rules.getPowerUpChance()) {
+			PowerUp.Type[] types = PowerUp.Type.values();
+			powerUps.add(new PowerUp(rand.nextInt(25)*BYTE,rand.nextInt(25)*BYTE, types[rand.nextInt(types.length)]));
+		}
+		for(PowerUp p : powerUps) {
+			Player player = collector(p);
+			if (player != null) {
+				p.setVisible(false);
+				switch (p.getType()) {
+					case UPGRADE:
+						player.tank.upgrade();
+						break;
+					case HEALTH:
+						player.respawns++;
+						respawnsChanged(player);
+						break;
+					case TIME_STOP:
+						startTimeStop();
+						break;
+				}
+				events.publish(GameEvent.POWER_UP_COLLECTED, p.getType().ordinal());
+			}
+		}
+
+	}
+
+	/**
+	 * @return the first player whose tank touches the power-up or null
+	 */
+	private Player collector(PowerUp powerUp) {
+		if (!powerUp.isVisible())
+			return null;
+		for (Player player : players) {
+			if (powerUp.intersects(player.tank))
+				return player;
+		}
+		return null;
+	}
+
+	void refreshTanks() {
+		tankArray = tanks.toArray(tankArray);
+		tankCount = count(tankArray);
+	}
+
+	/**
+	 * @return number of elements in the array filled by {@link Set#toArray(Object[])}
+	 */
+	private static int count(Object[] array) {
+		int i = 0;
+		while (i < array.length && array[i] != null)
+			i++;
+		return i;
+	}
+
+	/**
+	 * Apply the input of the first player at the start of the next tick. Can be called from any thread
+	 */
+	@Override
+	public void input(PlayerInput input) {
+		input(0, input);
+	}
+
+	/**
+	 * Apply the input of the player at the start of the next tick. Can be called from any thread
+	 *
+	 * @param player index of the player
+	 */
+	public void input(int player, PlayerInput input) {
+		players[player].inputs.add(input);
+	}
+
+	private void applyInputs() {
+		for (Player player : players)
+			applyInputs(player);
+	}
+
+	private void applyInputs(Player player) {
+		PlayerTank playerTank = player.tank;
+		PlayerInput input;
+		while ((input = player.inputs.poll()) != null) {
+			record(player.index, input);
+			switch (input) {
+				case WEST:
+					playerTank.changeDirection(Direction.WEST);
+					break;
+				case EAST:
+					playerTank.changeDirection(Direction.EAST);
+					break;
+				case NORTH:
+					playerTank.changeDirection(Direction.NORTH);
+					break;
+				case SOUTH:
+					playerTank.changeDirection(Direction.SOUTH);
+					break;
+				case STOP_HORIZONTAL:
+					playerTank.stopHorizontal();
+					break;
+				case STOP_VERTICAL:
+					playerTank.stopVertical();
+					break;
+				case FIRE:
+					player.fireRequested = true;
+					break;
+			}
+		}
+	}
+
+	private void firePlayerTank() {
+		for (Player player : players) {
+			if (player.fireRequested) {
+				player.fireRequested = false;
+				addBullet(player.tank.fire(bulletPool, tick));
+			}
+		}
+	}
+
+	/**
+	 * Start recording the inputs of the player. Should be called before the first tick
+	 *
+	 * @param file replay file, overwritten if exists
+	 */
+	public void startRecording(File file) {
+		try {
+			recorder = new ReplayRecorder(file, level, seed, players[0].respawns, players.length);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Stop streaming the profiler and finish the replay
+	 */
+	@Override
+	public void close() {
+		profiler.stopCsv();
+		stopRecording();
+	}
+
+	/**
+	 * Finish the replay file if the game is recorded. Should be called from the simulation thread
+	 */
+	public void stopRecording() {
+		if (recorder == null)
+			return;
+		try {
+			recorder.finish(tick, checksum());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		recorder = null;
+	}
+
+	private void record(int player, PlayerInput input) {
+		if (recorder == null)
+			return;
+		try {
+			recorder.record(tick, player, input);
+		} catch (IOException e) {
+			e.printStackTrace();
+			recorder = null;
+		}
+	}
+
+	/**
+	 * Hash of the positions and the state of everything in the world. Equal for equal games
+	 */
+	public int checksum() {
+		int hash = Long.hashCode(tick);
+		hash = 31 * hash + tankAmount;
+		hash = 31 * hash + map.checksum();
+		hash = 31 * hash + (base.isDefeated() ? 1 : 0);
+		for (Player player : players)
+			hash = 31 * hash + player.respawns;
+		for (Tank t : tanks)
+			hash = 31 * (31 * (31 * hash + t.getX()) + t.getY()) + t.getCurrentDir().ordinal();
+		for (Bullet b : bullets)
+			hash = 31 * (31 * hash + b.getX()) + b.getY();
+		for (PowerUp p : powerUps)
+			hash = 31 * (31 * (31 * hash + p.getX()) + p.getY()) + p.getType().ordinal();
+		return hash;
+	}
+
+	void addBullet(Bullet bullet) {
+		if (bullet != null)
+			bullets.add(bullet);
+	}
+
+	/**
+	 * Let the controllers of the enemies decide what to do on this tick
+	 */
+	void decideEnemies() {
+		if (!timeStopped)
+			decisionPhase.run(tankArray, tankCount, map, flowField, tick);
+	}
+
+	/**
+	 * Apply the decisions of the enemies and move all the tanks one by one
+	 */
+	private void checkAllTanksCollision() {
+		for (int k = 0; k < tankCount; k++) {
+			Tank t = tankArray[k];
+			if(! (t instanceof EnemyTank && timeStopped) ) {
+				if (t instanceof EnemyTank) {
+					TankDecision decision = decisionPhase.get(k);
+					if (decision.isFire())
+						addBullet(t.fire(enemyBulletPool, tick));
+					t.changeDirection(decision.getDirection());
+				}
+				if (!checkWallCollisions(t) && !checkTankCollisions(t))
+					t.move();
+			}
+		}
+	}
+
+	private void enemyTankDestroyed() {
+		events.publish(GameEvent.TANK_DESTROYED, GameEvent.ENEMY);
+		if (++enemiesDestroyed == rules.getEnemyCount() && endTimer == null)
+			winTimer = scheduler.schedule(LEVEL_WON_TICKS, this::levelWon);
+	}
+
+	/**
+	 * Player tank was hit. New one comes at the end of the tick if there are respawns left, the game ends when no
+	 * player has any
+	 */
+	private void playerTankDestroyed(Tank tank) {
+		events.publish(GameEvent.TANK_DESTROYED, GameEvent.PLAYER);
+		//Once the game is ending nothing changes anymore
+		if (endTimer != null)
+			return;
+		Player player = null;
+		for (Player p : players)
+			if (p.tank == tank)
+				player = p;
+		player.respawns--;
+		respawnsChanged(player);
+		if (player.respawns != -1)
+			player.respawnPending = true;
+		else if (allPlayersLost())
+			startEnd(PLAYER_LOST_TICKS);
+	}
+
+	private boolean allPlayersLost() {
+		for (Player player : players)
+			if (player.respawns != -1)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Only the respawns of the first player are published, the window shows just them
+	 */
+	private void respawnsChanged(Player player) {
+		if (player.index == 0)
+			events.publish(GameEvent.RESPAWNS_CHANGED, player.respawns);
+	}
+
+	/**
+	 * Base was hit for the first time
+	 */
+	private void baseDefeated() {
+		baseLost = true;
+		events.publish(GameEvent.BASE_DEFEATED);
+		//Countdown must be started only one time or duplicate menu appears
+		if (endTimer == null)
+			startEnd(BASE_LOST_TICKS);
+	}
+
+	/**
+	 * Checking collisions of tanks with other tanks on the map
+	 */
+	boolean checkTankCollisions(Tank tank) {
+		for (int k = 0; k < tankCount; k++) {
+			Tank t = tankArray[k];
+			if (t != tank && t.isVisible() && tank.theoreticalIntersects(t))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Checking collisions of tanks with other objects on the map
+	 */
+	boolean checkWallCollisions(Tank tank) {
+		return !tank.theoreticallyInside(0, 0, FIELD_DIMENSIONS, FIELD_DIMENSIONS)
+				|| map.collides(tank.getTheoreticalX(), tank.getTheoreticalY(), tank.getWidth(), tank.getHeight());
+
+	}
+
+	void updateBullets() {
+		bulletArray = bullets.toArray(bulletArray);
+		bulletCount = count(bulletArray);
+		broadPhase.clear();
+		for (int i = 0; i < bulletCount; i++)
+			broadPhase.add(bulletArray[i], true);
+		for (int k = 0; k < tankCount; k++)
+			broadPhase.add(tankArray[k], false);
+
+		int pairs = broadPhase.findPairs();
+		for (int p = 0; p < pairs; p++) {
+			Movable first = broadPhase.getFirst(p);
+			Movable second = broadPhase.getSecond(p);
+			if (first instanceof Bullet && second instanceof Bullet)
+				checkBulletsCollision((Bullet) first, (Bullet) second);
+			else if (first instanceof Bullet)
+				checkBulletHit((Bullet) first, (Tank) second);
+			else
+				checkBulletHit((Bullet) second, (Tank) first);
+		}
+
+		for (int i = 0; i < bulletCount; i++) {
+			Bullet b = bulletArray[i];
+			if (map.destroyIntersecting(b.getTheoreticalX(), b.getTheoreticalY(), b.getWidth(), b.getHeight(),
+					b.getCurrentDir())) {
+				destroyBullet(b, true);
+				if (!baseLost && base.isDefeated())
+					baseDefeated();
+			}
+			if (!b.theoreticallyInside(0, 0, FIELD_DIMENSIONS, FIELD_DIMENSIONS))
+				b.destroy();
+			b.move();
+		}
+
+	}
+
+	private void checkBulletsCollision(Bullet b, Bullet b1) {
+		if (b.theoreticalIntersects(b1) || b1.theoreticalIntersects(b)) {
+			destroyBullet(b, true);
+			destroyBullet(b1, true);
+		}
+	}
+
+	private void checkBulletHit(Bullet b, Tank t) {
+		if (t.isVisible() && b.theoreticalIntersects(t)) {
+			boolean hit = !(b instanceof EnemyBullet) || t instanceof PlayerTank;
+			destroyBullet(b, hit);
+			if(hit) {
+				t.destroy();
+				if (t instanceof EnemyTank)
+					enemyTankDestroyed();
+				else
+					playerTankDestroyed(t);
+			}
+		}
+	}
+
+	/**
+	 * Destroy the bullet if it wasn't destroyed yet during this tick
+	 *
+	 * @param b       bullet
+	 * @param explode true if the bullet leaves an explosion
+	 */
+	private void destroyBullet(Bullet b, boolean explode) {
+		if (!b.isVisible())
+			return;
+		b.destroy();
+		if (explode) {
+			Explosion explosion = explosionPool.obtain();
+			explosion.reset(b.getExplosionX(), b.getExplosionY());
+			explosions.add(explosion);
+		}
+	}
+
+	/**
+	 * Remove everything that was destroyed during this tick. Bullets go back to their pools
+	 */
+	void removeDestroyed() {
+		tanks.removeIf(tank -> !tank.isVisible());
+		for (Player player : players) {
+			if (player.respawnPending) {
+				player.respawnPending = false;
+				spawnPlayerTank(player);
+			}
+		}
+		powerUps.removeIf(powerUp -> !powerUp.isVisible());
+		int kept = 0;
+		for (int i = 0; i < bullets.size(); i++) {
+			Bullet b = bullets.get(i);
+			if (b.isVisible())
+				bullets.set(kept++, b);
+			else if (b instanceof EnemyBullet)
+				enemyBulletPool.release((EnemyBullet) b);
+			else
+				bulletPool.release(b);
+		}
+		truncate(bullets, kept);
+	}
+
+	void updateExplosions() {
+		int kept = 0;
+		for (int i = 0; i < explosions.size(); i++) {
+			Explosion ex = explosions.get(i);
+			if (ex.isVisible())
+				explosions.set(kept++, ex);
+			else
+				explosionPool.release(ex);
+		}
+		truncate(explosions, kept);
+		for (int i = 0; i < explosions.size(); i++) {
+			if (explosions.get(i).cycle())
+				events.publish(GameEvent.EXPLOSION);
+		}
+	}
+
+	/**
+	 * Drop the elements of the list from the index on, used after the kept elements were moved to its start
+	 */
+	private static void truncate(List<?> list, int size) {
+		list.subList(size, list.size()).clear();
+	}
+
+	/**
+	 * Set how controllers of the new enemies are created
+	 *
+	 * @param controllers creates a controller from a seed, which is taken from the world random
+	 */
+	public void setControllers(LongFunction<TankController> controllers) {
+		this.controllers = controllers;
+	}
+
+	/**
+	 * @param threshold minimal number of tanks whose decisions are made in parallel
+	 */
+	public void setParallelDecisionsThreshold(int threshold) {
+		decisionPhase.setParallelThreshold(threshold);
+	}
+
+	/**
+	 * @return bus the events of the world are published to
+	 */
+	@Override
+	public EventBus getEvents() {
+		return events;
+	}
+
+	/**
+	 * @return respawns of the first player left, -1 if there are none
+	 */
+	public int getRespawns() {
+		return players[0].respawns;
+	}
+
+	/**
+	 * @param player index of the player
+	 * @return respawns left, -1 if there are none
+	 */
+	public int getRespawns(int player) {
+		return players[player].respawns;
+	}
+
+	public int getPlayerCount() {
+		return players.length;
+	}
+
+	@Override
+	public FrameProfiler getProfiler() {
+		return profiler;
+	}
+
+	public Pool<Bullet> getBulletPool() {
+		return bulletPool;
+	}
+
+	public Pool<EnemyBullet> getEnemyBulletPool() {
+		return enemyBulletPool;
+	}
+
+	public Pool<Explosion> getExplosionPool() {
+		return explosionPool;
+	}
+
+	/**
+	 * @return snapshots of the world the renderer draws from, a new one is published at the end of every tick
+	 */
+	@Override
+	public SnapshotBuffer getSnapshots() {
+		return snapshots;
+	}
+
+	public Collection<Explosion> getExplosions() {
+		return explosions;
+	}
+
+	public Collection<Tank> getTanks() {
+		return tanks;
+	}
+
+	public Collection<Bullet> getBullets() {
+		return bullets;
+	}
+
+	public Collection<PowerUp> getPowerUps() {
+		return powerUps;
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	/**
+	 * @return copy of the rules of the world
+	 */
+	public GameRules getRules() {
+		return new GameRules(rules);
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public Map getMap() {
+		return map;
+	}
+
+	public FlowField getFlowField() {
+		return flowField;
+	}
+
+	public Base getBase() {
+		return base;
+	}
+
+	public PlayerTank getPlayerTank() {
+		return players[0].tank;
+	}
+
+	public PlayerTank getPlayerTank(int player) {
+		return players[player].tank;
+	}
+
+	public boolean isTimeStopped() {
+		return timeStopped;
+	}
+
+	/**
+	 * @return number of ticks since the start of the game
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return true when the game has ended and the world does not advance anymore
+	 */
+	@Override
+	public boolean isOver() {
+		return over;
+	}
+
+	/**
+	 * @return true if the game has ended because all the enemies were destroyed
+	 */
+	public boolean isWon() {
+		return won;
+	}
+
+	public int getEnemiesDestroyed() {
+		return enemiesDestroyed;
+	}
+}
@@ -0,0 +1,69 @@
+package game_engine;
+
+import map_tools.Level;
+
+/**
+ * Runs the game without a display as fast as possible. Player tank just stands still, so this is mostly useful
+ * for soak tests and measuring simulation speed.
+ * <p>
+ * Usage: {@code HeadlessGame [level] [ticks]}, for example {@code HeadlessGame FIRST 100000}. Ticks are streamed into
+ * a CSV file when {@link GameWorld#PROFILE_CSV_PROPERTY} is set.
+ */
+public class HeadlessGame implements GameEventListener {
+
+	private int enemiesDestroyed;
+
+	/**
+	 * Advance the world until the game is over or the given number of ticks has passed
+	 *
+	 * @param world world to run
+	 * @param ticks maximum number of ticks
+	 * @return number of ticks performed
+	 */
+	public static long run(GameWorld world, long ticks) {
+		long performed = 0;
+		while (performed < ticks && !world.isOver()) {
+			world.tick();
+			performed++;
+		}
+		return performed;
+	}
+
+	@Override
+	public void onEvents(EventBatch events) {
+		for (int i = 0; i < events.size(); i++) {
+			if (events.getType(i) == GameEvent.TANK_DESTROYED && events.getValue(i) == GameEvent.ENEMY)
+				enemiesDestroyed++;
+		}
+	}
+
+	/**
+	 * @return number of enemies destroyed since the listener was subscribed
+	 */
+	public int getEnemiesDestroyed() {
+		return enemiesDestroyed;
+	}
+
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		Level level = args.length > 0 ? Level.valueOf(args[0]) : Level.FIRST;
+		long ticks = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+
+		HeadlessGame game = new HeadlessGame();
+		GameWorld world = new GameWorld(level, 3);
+		world.getEvents().subscribe(game);
+		long start = System.nanoTime();
+		long performed = run(world, ticks);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		//The replay is finished here when the game is cut off by the tick limit
+		world.close();
+
+		System.out.printf("%s: %d ticks in %.2f s (%.0f ticks/s), enemies destroyed: %d, game over: %b%n",
+				level, performed, seconds, performed / seconds, game.enemiesDestroyed, world.isOver());
+		System.out.println("Bullet pool: " + world.getBulletPool());
+		System.out.println("Enemy bullet pool: " + world.getEnemyBulletPool());
+		System.out.println("Explosion pool: " + world.getExplosionPool());
+		for (String line : world.getProfiler().report())
+			System.out.println(line);
+	}
+}
@@ -0,0 +1,51 @@
+package game_engine;
+
+import game_objects.movables.Direction;
+import game_objects.movables.PlayerTank;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static game_content.GameField.BYTE;
+
+/**
+ * One player of the world: the tank, the respawns and the inputs that are applied at the start of the next tick
+ */
+final class Player {
+
+	/**
+	 * Columns the tanks of the players appear at, on both sides of the base
+	 */
+	private static final int[] SPAWN_COLUMNS = {8, 16};
+
+	final int index;
+	final Queue<PlayerInput> inputs = new ConcurrentLinkedQueue<>();
+	PlayerTank tank;
+	/**
+	 * Respawns left, -1 if there are none
+	 */
+	int respawns;
+	boolean respawnPending;
+	boolean fireRequested;
+
+	Player(int index, int respawns) {
+		this.index = index;
+		this.respawns = respawns;
+	}
+
+	/**
+	 * Create a new tank at the spawn point of the player
+	 *
+	 * @param rules rules of the world
+	 * @return new tank
+	 */
+	PlayerTank spawn(GameRules rules) {
+		tank = new PlayerTank(SPAWN_COLUMNS[index] * BYTE, 24 * BYTE, Direction.NORTH, index);
+		tank.setFireDelays(rules.getPlayerFireDelays());
+		return tank;
+	}
+
+	static int maxPlayers() {
+		return SPAWN_COLUMNS.length;
+	}
+}
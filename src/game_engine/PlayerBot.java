@@ -0,0 +1,351 @@
+package game_engine;
+
+import game_objects.Sprite;
+import game_objects.map_objects.impassables.Base;
+import game_objects.movables.Bullet;
+import game_objects.movables.Direction;
+import game_objects.movables.EnemyBullet;
+import game_objects.movables.EnemyTank;
+import game_objects.movables.PlayerTank;
+import game_objects.movables.Tank;
+
+import java.util.Random;
+
+import static game_content.GameField.BYTE;
+import static game_content.GameField.FIELD_DIMENSIONS;
+
+/**
+ * Plays a player tank through the same inputs the keyboard gives. Guards the base: waits on a post in front of it,
+ * fires at the enemies that come in line, and goes out to meet the enemy nearest to the base once it comes close. Steps
+ * aside from or shoots down the enemy bullets flying at it and takes a random detour when the tank is stuck. Never
+ * fires when the base is in the way.
+ * Inputs are sent only when they change, so the bot can be recorded and replayed like a human player.
+ */
+public class PlayerBot {
+
+	/**
+	 * Ticks without moving after which the tank is considered stuck
+	 */
+	private static final int STUCK_TICKS = 10;
+	/**
+	 * How many ticks a detour lasts
+	 */
+	private static final int DETOUR_TICKS = 25;
+	/**
+	 * Enemies closer to the base than this, in pixels along both axes, are attacked
+	 */
+	private static final int GUARD_DISTANCE = 12 * BYTE;
+	/**
+	 * Enemies farther away in line with the tank are not fired at
+	 */
+	private static final int FIRE_DISTANCE = 14 * BYTE;
+	/**
+	 * Enemy bullets nearer than this, in pixels, are dodged
+	 */
+	private static final int DODGE_DISTANCE = 5 * BYTE;
+	/**
+	 * Space kept between the tank and the lane of a bullet, so it doesn't step back into the lane right away
+	 */
+	private static final int DODGE_MARGIN = BYTE / 2;
+	/**
+	 * Post of the tank, in tiles north of the base
+	 */
+	private static final int POST_TILES = 3;
+	/**
+	 * Largest distance between the centers of the tank and a target across the line of fire at which the bullet still
+	 * hits the target
+	 */
+	private static final int LINE_TOLERANCE = BYTE + Bullet.WIDTH / 2;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final int player;
+	private final Random random;
+	private PlayerTank tank;
+	/**
+	 * Direction the tank was last told to drive in, null if it stands
+	 */
+	private Direction direction;
+	private int lastX, lastY;
+	private int stuckTicks;
+	private int detourTicks;
+
+	/**
+	 * @param player index of the player in the world
+	 * @param seed   seed of the detours
+	 */
+	public PlayerBot(int player, long seed) {
+		this.player = player;
+		random = new Random(seed);
+	}
+
+	/**
+	 * Send the inputs for the next tick. Must be called before {@link GameWorld#tick()} on the simulation thread
+	 */
+	public void act(GameWorld world) {
+		PlayerTank current = world.getPlayerTank(player);
+		if (!current.isVisible())
+			return;
+		//New tank after a respawn stands still until it is told where to go
+		if (current != tank) {
+			tank = current;
+			direction = null;
+			stuckTicks = 0;
+			detourTicks = 0;
+		}
+		boolean moved = tank.getX() != lastX || tank.getY() != lastY;
+		lastX = tank.getX();
+		lastY = tank.getY();
+		stuckTicks = moved || direction == null ? 0 : stuckTicks + 1;
+
+		if (detourTicks > 0) {
+			detourTicks--;
+			return;
+		}
+		if (stuckTicks > STUCK_TICKS) {
+			drive(world, DIRECTIONS[random.nextInt(DIRECTIONS.length)]);
+			detourTicks = DETOUR_TICKS;
+			stuckTicks = 0;
+			return;
+		}
+		Bullet incoming = incomingBullet(world);
+		if (incoming != null) {
+			dodge(world, incoming);
+			return;
+		}
+
+		Base base = world.getBase();
+		Tank threat = nearestEnemy(world, base);
+		Tank inLine = enemyInLine(world, base);
+		if (inLine != null) {
+			stand(world, towards(inLine));
+			world.input(player, PlayerInput.FIRE);
+		} else if (threat != null && Math.abs(centerX(threat) - centerX(base)) < GUARD_DISTANCE
+				&& Math.abs(centerY(threat) - centerY(base)) < GUARD_DISTANCE) {
+			drive(world, approach(threat));
+		} else {
+			guard(world, base);
+		}
+	}
+
+	/**
+	 * @return the nearest enemy bullet that will hit the tank within {@link #DODGE_DISTANCE} or null
+	 */
+	private Bullet incomingBullet(GameWorld world) {
+		Bullet nearest = null;
+		int best = DODGE_DISTANCE;
+		for (Bullet b : world.getBullets()) {
+			if (!(b instanceof EnemyBullet) || !b.isVisible())
+				continue;
+			int distance;
+			boolean inLane;
+			switch (b.getCurrentDir()) {
+				case WEST:
+					distance = b.getX() - (tank.getX() + tank.getWidth());
+					inLane = overlaps(b.getY(), b.getHeight(), tank.getY(), tank.getHeight());
+					break;
+				case EAST:
+					distance = tank.getX() - (b.getX() + b.getWidth());
+					inLane = overlaps(b.getY(), b.getHeight(), tank.getY(), tank.getHeight());
+					break;
+				case NORTH:
+					distance = b.getY() - (tank.getY() + tank.getHeight());
+					inLane = overlaps(b.getX(), b.getWidth(), tank.getX(), tank.getWidth());
+					break;
+				default:
+					distance = tank.getY() - (b.getY() + b.getHeight());
+					inLane = overlaps(b.getX(), b.getWidth(), tank.getX(), tank.getWidth());
+					break;
+			}
+			//A bullet beside the tank hasn't passed it yet
+			if (inLane && distance > -tank.getWidth() && distance < best) {
+				best = distance;
+				nearest = b;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Shoot the bullet down when it flies along the middle of the tank, otherwise step aside on the nearer side
+	 */
+	private void dodge(GameWorld world, Bullet bullet) {
+		Direction against = opposite(bullet.getCurrentDir());
+		boolean horizontal = against == Direction.WEST || against == Direction.EAST;
+		int offset = horizontal ? centerY(bullet) - centerY(tank) : centerX(bullet) - centerX(tank);
+		Direction aside = horizontal ? offset < 0 ? Direction.SOUTH : Direction.NORTH
+				: offset < 0 ? Direction.EAST : Direction.WEST;
+		boolean offCenter = Math.abs(offset) >= bullet.getWidth() + bullet.getHeight();
+		if (offCenter && canMove(world, aside)) {
+			drive(world, aside);
+		} else if (offCenter && canMove(world, opposite(aside))) {
+			drive(world, opposite(aside));
+		} else {
+			stand(world, against);
+			world.input(player, PlayerInput.FIRE);
+		}
+	}
+
+	/**
+	 * @return true if no wall or edge of the field stops the tank in the direction, other tanks aren't checked
+	 */
+	private boolean canMove(GameWorld world, Direction direction) {
+		int x = tank.getX() + direction.getDx() * Tank.SPEED;
+		int y = tank.getY() + direction.getDy() * Tank.SPEED;
+		return x >= 0 && y >= 0 && x + tank.getWidth() <= FIELD_DIMENSIONS && y + tank.getHeight() <= FIELD_DIMENSIONS
+				&& !world.getMap().collides(x, y, tank.getWidth(), tank.getHeight());
+	}
+
+	/**
+	 * @return true if the lane of the bullet comes closer to the tank than {@link #DODGE_MARGIN}
+	 */
+	private static boolean overlaps(int from, int length, int otherFrom, int otherLength) {
+		return from < otherFrom + otherLength + DODGE_MARGIN && otherFrom < from + length + DODGE_MARGIN;
+	}
+
+	/**
+	 * Go to the post and stand there facing north
+	 */
+	private void guard(GameWorld world, Base base) {
+		int dx = base.getX() - tank.getX();
+		int dy = base.getY() - POST_TILES * BYTE - tank.getY();
+		Direction horizontal = Math.abs(dx) >= BYTE / 2 ? dx < 0 ? Direction.WEST : Direction.EAST : null;
+		Direction vertical = Math.abs(dy) >= BYTE / 2 ? dy < 0 ? Direction.NORTH : Direction.SOUTH : null;
+		//Around a wall along the other axis
+		if (horizontal != null && (canMove(world, horizontal) || vertical == null))
+			drive(world, horizontal);
+		else if (vertical != null)
+			drive(world, vertical);
+		else
+			stand(world, Direction.NORTH);
+	}
+
+	/**
+	 * Drive to get in line with the target, closing the smaller gap first
+	 */
+	private Direction approach(Tank target) {
+		int dx = centerX(target) - centerX(tank);
+		int dy = centerY(target) - centerY(tank);
+		if (Math.abs(dx) < Math.abs(dy))
+			return dx < 0 ? Direction.WEST : Direction.EAST;
+		return dy < 0 ? Direction.NORTH : Direction.SOUTH;
+	}
+
+	private Direction towards(Tank target) {
+		int dx = centerX(target) - centerX(tank);
+		int dy = centerY(target) - centerY(tank);
+		if (Math.abs(dx) < LINE_TOLERANCE)
+			return dy < 0 ? Direction.NORTH : Direction.SOUTH;
+		return dx < 0 ? Direction.WEST : Direction.EAST;
+	}
+
+	private void drive(GameWorld world, Direction wanted) {
+		if (wanted != direction) {
+			world.input(player, toInput(wanted));
+			direction = wanted;
+		}
+	}
+
+	/**
+	 * Turn to the direction and stop there
+	 */
+	private void stand(GameWorld world, Direction facing) {
+		if (direction == null && tank.getCurrentDir() == facing)
+			return;
+		world.input(player, toInput(facing));
+		world.input(player, PlayerInput.STOP_HORIZONTAL);
+		world.input(player, PlayerInput.STOP_VERTICAL);
+		direction = null;
+	}
+
+	/**
+	 * @return enemy nearest to the base or null
+	 */
+	private static Tank nearestEnemy(GameWorld world, Base base) {
+		Tank nearest = null;
+		int best = Integer.MAX_VALUE;
+		for (Tank t : world.getTanks()) {
+			if (!(t instanceof EnemyTank) || !t.isVisible())
+				continue;
+			int distance = Math.abs(centerX(t) - centerX(base)) + Math.abs(centerY(t) - centerY(base));
+			if (distance < best) {
+				best = distance;
+				nearest = t;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * @return the nearest enemy in line with the tank and within {@link #FIRE_DISTANCE} that can be fired at without
+	 * hitting the base, or null
+	 */
+	private Tank enemyInLine(GameWorld world, Base base) {
+		Tank nearest = null;
+		int best = FIRE_DISTANCE;
+		for (Tank t : world.getTanks()) {
+			if (!(t instanceof EnemyTank) || !t.isVisible())
+				continue;
+			int dx = centerX(t) - centerX(tank);
+			int dy = centerY(t) - centerY(tank);
+			boolean vertical = Math.abs(dx) < LINE_TOLERANCE, horizontal = Math.abs(dy) < LINE_TOLERANCE;
+			if (!vertical && !horizontal)
+				continue;
+			int distance = vertical ? Math.abs(dy) : Math.abs(dx);
+			if (distance < best && !baseBetween(base, t, vertical)) {
+				best = distance;
+				nearest = t;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * @return true if the base is on the line of fire between the tank and the target
+	 */
+	private boolean baseBetween(Base base, Tank target, boolean vertical) {
+		if (vertical) {
+			return Math.abs(centerX(base) - centerX(tank)) < base.getWidth()
+					&& between(centerY(base), centerY(tank), centerY(target));
+		}
+		return Math.abs(centerY(base) - centerY(tank)) < base.getHeight()
+				&& between(centerX(base), centerX(tank), centerX(target));
+	}
+
+	private static boolean between(int value, int from, int to) {
+		return value > Math.min(from, to) && value < Math.max(from, to);
+	}
+
+	private static int centerX(Sprite sprite) {
+		return sprite.getX() + sprite.getWidth() / 2;
+	}
+
+	private static int centerY(Sprite sprite) {
+		return sprite.getY() + sprite.getHeight() / 2;
+	}
+
+	private static Direction opposite(Direction direction) {
+		switch (direction) {
+			case WEST:
+				return Direction.EAST;
+			case EAST:
+				return Direction.WEST;
+			case NORTH:
+				return Direction.SOUTH;
+			default:
+				return Direction.NORTH;
+		}
+	}
+
+	private static PlayerInput toInput(Direction direction) {
+		switch (direction) {
+			case WEST:
+				return PlayerInput.WEST;
+			case EAST:
+				return PlayerInput.EAST;
+			case NORTH:
+				return PlayerInput.NORTH;
+			default:
+				return PlayerInput.SOUTH;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package game_engine;
+
+/**
+ * Everything the player can do with the tank. Inputs are applied by the world at the start of the next tick, so a game
+ * can be recorded as the list of inputs and the ticks they were applied on
+ */
+public enum PlayerInput {
+	WEST, EAST, NORTH, SOUTH,
+	/**
+	 * Left or right arrow was released
+	 */
+	STOP_HORIZONTAL,
+	/**
+	 * Up or down arrow was released
+	 */
+	STOP_VERTICAL,
+	FIRE
+}
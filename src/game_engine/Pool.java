@@ -0,0 +1,93 @@
+package game_engine;
+
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable objects. Objects are created only when the pool is empty, released objects are kept
+ * until the pool is full, after that they are left for the garbage collector.
+ * <p>
+ * Pool doesn't reset objects, whoever obtains an object must reinitialize it. Not thread safe.
+ *
+ * @param <T> type of pooled objects
+ */
+public class Pool<T> {
+
+	private final Supplier<T> factory;
+	private final Object[] free;
+	private int size;
+
+	private long hits;
+	private long misses;
+	private long dropped;
+
+	/**
+	 * @param factory  creates new objects when the pool is empty
+	 * @param capacity maximum number of objects kept in the pool
+	 */
+	public Pool(Supplier<T> factory, int capacity) {
+		this.factory = factory;
+		this.free = new Object[capacity];
+	}
+
+	/**
+	 * Take an object from the pool or create a new one if the pool is empty
+	 *
+	 * @return object that must be reinitialized before use
+	 */
+	@SuppressWarnings("unchecked")
+	public T obtain() {
+		if (size > 0) {
+			hits++;
+			T object = (T) free[--size];
+			free[size] = null;
+			return object;
+		}
+		misses++;
+		return factory.get();
+	}
+
+	/**
+	 * Return an object to the pool. It must not be used after that
+	 *
+	 * @param object object to return
+	 */
+	public void release(T object) {
+		if (size < free.length)
+			free[size++] = object;
+		else
+			dropped++;
+	}
+
+	/**
+	 * @return number of objects that were taken from the pool
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of objects that had to be created
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of released objects that didn't fit into the pool
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * @return number of objects waiting in the pool
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("hits: %d, misses: %d, dropped: %d, free: %d", hits, misses, dropped, size);
+	}
+}
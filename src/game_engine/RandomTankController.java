@@ -0,0 +1,51 @@
+package game_engine;
+
+import game_objects.movables.Direction;
+
+import java.util.Random;
+
+/**
+ * Classic behaviour of the enemies: drive forward and fire whenever possible, sometimes turn at random, and look for
+ * a random free direction when the way is blocked
+ */
+public class RandomTankController implements TankController {
+
+	/**
+	 * Chance of a random turn on a tick
+	 */
+	private static final double TURN_CHANCE = 0.02;
+	/**
+	 * How many random directions are tried when the way is blocked
+	 */
+	private static final int TURN_ATTEMPTS = 8;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final Random random;
+
+	/**
+	 * @param seed seed of the turns of this tank
+	 */
+	public RandomTankController(long seed) {
+		random = new Random(seed);
+	}
+
+	@Override
+	public void decide(WorldSnapshot snapshot, int self, TankDecision decision) {
+		Direction direction = snapshot.getDirection(self);
+		if (random.nextDouble() < TURN_CHANCE)
+			direction = randomDirection();
+		if (!snapshot.canMove(self, direction)) {
+			for (int i = 0; i < TURN_ATTEMPTS; i++) {
+				direction = randomDirection();
+				if (snapshot.canMove(self, direction))
+					break;
+			}
+		}
+		decision.setDirection(direction);
+		decision.setFire(true);
+	}
+
+	private Direction randomDirection() {
+		return DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+	}
+}
@@ -0,0 +1,159 @@
+package game_engine;
+
+import game_objects.Sprite;
+import game_objects.movables.Movable;
+import map_tools.Map;
+
+import java.awt.Image;
+import java.util.Arrays;
+
+import static game_content.GameField.MAP_SIZE;
+
+/**
+ * Everything needed to draw the world as it was at the end of one tick: images and bounds of the visible sprites in
+ * drawing order, positions of the sprites at the start of the tick and the tiles of the map. Filled by the simulation thread and then only read by the renderer, see
+ * {@link SnapshotBuffer}. Arrays are reused, so filling the snapshot doesn't allocate. A network client fills
+ * snapshots from the states it receives.
+ */
+public class RenderSnapshot {
+
+	private long tick;
+	private int size;
+	private int coverIndex;
+	private Image[] images = new Image[64];
+	private int[] bounds = new int[64 * 4];
+	private int[] previous = new int[64 * 2];
+	private final byte[] kinds = new byte[MAP_SIZE * MAP_SIZE];
+	private final byte[] bricks = new byte[MAP_SIZE * MAP_SIZE];
+
+	public void clear(long tick) {
+		this.tick = tick;
+		Arrays.fill(images, 0, size, null);
+		size = 0;
+		coverIndex = 0;
+	}
+
+	void add(Sprite sprite) {
+		if (!sprite.isVisible() || sprite.getImage() == null)
+			return;
+		if (sprite instanceof Movable)
+			add(sprite.getImage(), sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(),
+					((Movable) sprite).getPreviousX(), ((Movable) sprite).getPreviousY());
+		else
+			add(sprite.getImage(), sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(),
+					sprite.getX(), sprite.getY());
+	}
+
+	/**
+	 * Add a sprite that is drawn over the ones added before
+	 *
+	 * @param previousX x coordinate at the start of the tick
+	 * @param previousY y coordinate at the start of the tick
+	 */
+	public void add(Image image, int x, int y, int width, int height, int previousX, int previousY) {
+		if (size == images.length) {
+			images = Arrays.copyOf(images, size * 2);
+			bounds = Arrays.copyOf(bounds, size * 2 * 4);
+			previous = Arrays.copyOf(previous, size * 2 * 2);
+		}
+		images[size] = image;
+		bounds[4 * size] = x;
+		bounds[4 * size + 1] = y;
+		bounds[4 * size + 2] = width;
+		bounds[4 * size + 3] = height;
+		previous[2 * size] = previousX;
+		previous[2 * size + 1] = previousY;
+		size++;
+	}
+
+	/**
+	 * Sprites added after this call are drawn over the cover
+	 */
+	public void startCover() {
+		coverIndex = size;
+	}
+
+	void copyTiles(Map map) {
+		map.copyTiles(kinds, bricks);
+	}
+
+	/**
+	 * @param kinds  kinds of all the tiles, see {@link Map}
+	 * @param bricks standing quarters of all the brick walls
+	 */
+	public void copyTiles(byte[] kinds, byte[] bricks) {
+		System.arraycopy(kinds, 0, this.kinds, 0, this.kinds.length);
+		System.arraycopy(bricks, 0, this.bricks, 0, this.bricks.length);
+	}
+
+	/**
+	 * @return tick the snapshot was taken on
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return number of sprites
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return index of the first sprite that is drawn over the cover
+	 */
+	public int getCoverIndex() {
+		return coverIndex;
+	}
+
+	public Image getImage(int i) {
+		return images[i];
+	}
+
+	public int getX(int i) {
+		return bounds[4 * i];
+	}
+
+	public int getY(int i) {
+		return bounds[4 * i + 1];
+	}
+
+	/**
+	 * @return x coordinate of the sprite at the start of the tick
+	 */
+	public int getPreviousX(int i) {
+		return previous[2 * i];
+	}
+
+	/**
+	 * @return y coordinate of the sprite at the start of the tick
+	 */
+	public int getPreviousY(int i) {
+		return previous[2 * i + 1];
+	}
+
+	public int getWidth(int i) {
+		return bounds[4 * i + 2];
+	}
+
+	public int getHeight(int i) {
+		return bounds[4 * i + 3];
+	}
+
+	/**
+	 * @param index index of the tile: row * MAP_SIZE + column
+	 * @return kind of the tile, see {@link Map}
+	 */
+	public byte getKind(int index) {
+		return kinds[index];
+	}
+
+	/**
+	 * @param index index of the tile: row * MAP_SIZE + column
+	 * @return standing quarters of the brick wall, see {@link Map#WHOLE_BRICK}
+	 */
+	public byte getBricks(int index) {
+		return bricks[index];
+	}
+}
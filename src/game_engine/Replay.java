@@ -0,0 +1,185 @@
+package game_engine;
+
+import map_tools.Level;
+import map_tools.Map;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static game_content.GameField.DELAY;
+
+/**
+ * Recorded game that can be played back without a display as fast as possible. The world is deterministic, so the
+ * seed, the level, the respawns and the player inputs are enough to repeat the game tick by tick.
+ * <p>
+ * File format: int magic, byte version, byte level, long seed, int respawns, byte players, then records of tick and
+ * input byte: the player in the high half and the input ordinal in the low one. Version 1 had no players byte and
+ * only one player. Ticks are stored as a difference from the previous record in 7 bit groups. The last record has input {@link #END}
+ * and is followed by the int checksum of the world after the last tick.
+ * <p>
+ * Usage: {@code Replay <file>}. Ticks are streamed into a CSV file when {@link GameWorld#PROFILE_CSV_PROPERTY} is set,
+ * so spikes of a recorded game can be studied.
+ */
+public class Replay {
+
+	static final int MAGIC = 0x54575250;
+	static final int VERSION = 2;
+	static final int END = 0xFF;
+	static final int PLAYER_SHIFT = 4;
+
+	private final Level level;
+	private final long seed;
+	private final int respawns;
+	private final int players;
+	private long[] ticks = new long[64];
+	private int[] playerOf = new int[64];
+	private PlayerInput[] inputs = new PlayerInput[64];
+	private int size;
+	private long length;
+	private int checksum;
+
+	private Replay(Level level, long seed, int respawns, int players) {
+		this.level = level;
+		this.seed = seed;
+		this.respawns = respawns;
+		this.players = players;
+	}
+
+	/**
+	 * Read the whole replay file
+	 *
+	 * @param file file written by {@link ReplayRecorder}
+	 * @return replay
+	 * @throws IOException if the file can't be read or is not a finished replay
+	 */
+	public static Replay read(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC)
+				throw new IOException(file + " is not a replay");
+			int version = in.readUnsignedByte();
+			if (version < 1 || version > VERSION)
+				throw new IOException("Unsupported replay version " + version);
+			Level level = Level.values()[in.readUnsignedByte()];
+			long seed = in.readLong();
+			int respawns = in.readInt();
+			Replay replay = new Replay(level, seed, respawns, version == 1 ? 1 : in.readUnsignedByte());
+			long tick = 0;
+			while (true) {
+				tick += readTick(in);
+				int input = in.readUnsignedByte();
+				if (input == END) {
+					replay.length = tick;
+					replay.checksum = in.readInt();
+					return replay;
+				}
+				replay.add(tick, input >> PLAYER_SHIFT, PlayerInput.values()[input & ((1 << PLAYER_SHIFT) - 1)]);
+			}
+		}
+	}
+
+	private static long readTick(DataInputStream in) throws IOException {
+		long delta = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			delta |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return delta;
+	}
+
+	private void add(long tick, int player, PlayerInput input) {
+		if (size == ticks.length) {
+			ticks = Arrays.copyOf(ticks, size * 2);
+			playerOf = Arrays.copyOf(playerOf, size * 2);
+			inputs = Arrays.copyOf(inputs, size * 2);
+		}
+		ticks[size] = tick;
+		playerOf[size] = player;
+		inputs[size] = input;
+		size++;
+	}
+
+	/**
+	 * Create the world the recorded game was played in
+	 *
+	 * @return world before the first tick
+	 */
+	public GameWorld newWorld() {
+		return new GameWorld(level, Map.getLevelMap(level), players, respawns, seed);
+	}
+
+	/**
+	 * Play the whole replay in the world created by {@link #newWorld()}
+	 *
+	 * @param world world to play in
+	 * @return true if the world ended up in the same state as the recorded one
+	 */
+	public boolean play(GameWorld world) {
+		int next = 0;
+		while (world.getTick() < length) {
+			long tick = world.getTick() + 1;
+			while (next < size && ticks[next] == tick)
+				world.input(playerOf[next], inputs[next++]);
+			world.tick();
+		}
+		return world.checksum() == checksum;
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getRespawns() {
+		return respawns;
+	}
+
+	public int getPlayers() {
+		return players;
+	}
+
+	/**
+	 * @return number of ticks in the recorded game
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * @return number of recorded inputs
+	 */
+	public int getInputCount() {
+		return size;
+	}
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		if (args.length < 1) {
+			System.out.println("Usage: Replay <file>");
+			return;
+		}
+		Replay replay = read(new File(args[0]));
+		GameWorld world = replay.newWorld();
+		world.startCsvFromProperty();
+		long start = System.nanoTime();
+		boolean same = replay.play(world);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		world.getProfiler().stopCsv();
+
+		double gameSeconds = replay.getLength() * (double) DELAY / 1000;
+		System.out.printf("%s, seed %d: %d ticks and %d inputs in %.2f s (%.0fx real time)%n", replay.getLevel(),
+				replay.getSeed(), replay.getLength(), replay.getInputCount(), seconds, gameSeconds / seconds);
+		System.out.println(same ? "Playback matches the recorded game" : "Playback DIVERGED from the recorded game");
+		for (String line : world.getProfiler().report())
+			System.out.println(line);
+	}
+}
@@ -0,0 +1,81 @@
+package game_engine;
+
+import map_tools.Level;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes player inputs of one game into a replay file. See {@link Replay} for the format.
+ * Should be used only from the simulation thread
+ */
+public class ReplayRecorder {
+
+	private final DataOutputStream out;
+	private final File file;
+	private long lastTick;
+
+	/**
+	 * Create the file and write the header
+	 *
+	 * @param file     replay file, overwritten if exists
+	 * @param level    level that is played
+	 * @param seed     seed of the game world
+	 * @param respawns respawns every player has at the start of the level
+	 * @param players  number of players
+	 */
+	public ReplayRecorder(File file, Level level, long seed, int respawns, int players) throws IOException {
+		this.file = file;
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		out.writeInt(Replay.MAGIC);
+		out.writeByte(Replay.VERSION);
+		out.writeByte(level.ordinal());
+		out.writeLong(seed);
+		out.writeInt(respawns);
+		out.writeByte(players);
+	}
+
+	/**
+	 * Record the input of the player applied on the tick. Ticks should not decrease
+	 */
+	public void record(long tick, int player, PlayerInput input) throws IOException {
+		writeTick(tick);
+		out.writeByte(player << Replay.PLAYER_SHIFT | input.ordinal());
+	}
+
+	/**
+	 * Write the end of the game and close the file
+	 *
+	 * @param tick     last tick of the game
+	 * @param checksum {@link GameWorld#checksum()} after the last tick, used to check that playback didn't diverge
+	 */
+	public void finish(long tick, int checksum) throws IOException {
+		try {
+			writeTick(tick);
+			out.writeByte(Replay.END);
+			out.writeInt(checksum);
+		} finally {
+			out.close();
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Ticks are stored as the difference from the previous record in 7 bit groups, so most records take two bytes
+	 */
+	private void writeTick(long tick) throws IOException {
+		long delta = tick - lastTick;
+		lastTick = tick;
+		while ((delta & ~0x7FL) != 0) {
+			out.writeByte((int) (delta & 0x7F) | 0x80);
+			delta >>>= 7;
+		}
+		out.writeByte((int) delta);
+	}
+}
@@ -0,0 +1,57 @@
+package game_engine;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the last samples of a value and calculates percentiles over them. Doesn't allocate after creation.
+ */
+public class RollingHistogram {
+
+	private final long[] samples;
+	private final long[] sorted;
+	private int next;
+	private int size;
+	private long last;
+
+	/**
+	 * @param window number of the last samples that are kept
+	 */
+	public RollingHistogram(int window) {
+		samples = new long[window];
+		sorted = new long[window];
+	}
+
+	public synchronized void record(long value) {
+		samples[next] = value;
+		next = (next + 1) % samples.length;
+		if (size < samples.length)
+			size++;
+		last = value;
+	}
+
+	/**
+	 * Calculate several percentiles at once
+	 *
+	 * @param percentiles percentiles from 0 to 100
+	 * @param result      array the values are written to, same length as percentiles
+	 */
+	public synchronized void percentiles(double[] percentiles, long[] result) {
+		System.arraycopy(samples, 0, sorted, 0, size);
+		Arrays.sort(sorted, 0, size);
+		for (int i = 0; i < percentiles.length; i++) {
+			if (size == 0) {
+				result[i] = 0;
+				continue;
+			}
+			int index = (int) Math.ceil(percentiles[i] / 100 * size) - 1;
+			result[i] = sorted[Math.max(0, Math.min(size - 1, index))];
+		}
+	}
+
+	/**
+	 * @return the latest recorded value
+	 */
+	public synchronized long getLast() {
+		return last;
+	}
+}
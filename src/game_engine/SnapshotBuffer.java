@@ -0,0 +1,47 @@
+package game_engine;
+
+/**
+ * Triple buffer of {@link RenderSnapshot}s. The simulation fills the back snapshot and publishes it, the renderer
+ * takes the latest published one. Neither of them ever waits for the other or sees a snapshot that is being filled,
+ * and the renderer just skips the snapshots it was too slow to draw.
+ */
+public class SnapshotBuffer {
+
+	private RenderSnapshot back = new RenderSnapshot();
+	private RenderSnapshot ready = new RenderSnapshot();
+	private RenderSnapshot front = new RenderSnapshot();
+	private boolean fresh;
+
+	/**
+	 * @return snapshot the simulation fills, owned by the simulation thread until {@link #publish()}
+	 */
+	public RenderSnapshot getBack() {
+		return back;
+	}
+
+	/**
+	 * Make the filled back snapshot the latest one
+	 */
+	public synchronized void publish() {
+		RenderSnapshot published = back;
+		back = ready;
+		ready = published;
+		fresh = true;
+	}
+
+	/**
+	 * Take the latest published snapshot. It stays valid until the next call, so it must be used only from the
+	 * rendering thread
+	 *
+	 * @return latest snapshot
+	 */
+	public synchronized RenderSnapshot latest() {
+		if (fresh) {
+			RenderSnapshot latest = ready;
+			ready = front;
+			front = latest;
+			fresh = false;
+		}
+		return front;
+	}
+}
@@ -0,0 +1,128 @@
+package game_engine;
+
+import game_objects.movables.Movable;
+
+import java.util.Arrays;
+
+/**
+ * Broad phase of the bullet collisions. Objects are sorted by their left edge and swept along the x axis, only pairs
+ * that overlap on both axes are reported, so the exact checks run on a handful of pairs instead of every bullet
+ * against every bullet and tank.
+ * <p>
+ * Bounds of every object cover both its current and its theoretical position, so a pair is reported whenever
+ * {@link Movable#theoreticalIntersects} could be true for it. Pairs of two non-bullets are never reported.
+ * Arrays are reused between ticks and only grow, so steady state sweeps don't allocate.
+ */
+public class SweepAndPrune {
+
+	/**
+	 * Added to the left edge so it's always positive when packed into the sort key
+	 */
+	private static final long KEY_OFFSET = 1 << 20;
+
+	private Movable[] objects = new Movable[64];
+	private boolean[] bullet = new boolean[64];
+	private int[] minX = new int[64];
+	private int[] maxX = new int[64];
+	private int[] minY = new int[64];
+	private int[] maxY = new int[64];
+	private long[] keys = new long[64];
+	private int[] active = new int[64];
+	private int count;
+
+	private int[] pairs = new int[128];
+	private int pairCount;
+
+	/**
+	 * Remove all the objects
+	 */
+	public void clear() {
+		Arrays.fill(objects, 0, count, null);
+		count = 0;
+		pairCount = 0;
+	}
+
+	/**
+	 * Add an object to the sweep
+	 *
+	 * @param m        object
+	 * @param isBullet true if it's a bullet. Only pairs with at least one bullet are reported
+	 */
+	public void add(Movable m, boolean isBullet) {
+		if (count == objects.length)
+			grow();
+		int x = m.getX(), tx = m.getTheoreticalX();
+		int y = m.getY(), ty = m.getTheoreticalY();
+		objects[count] = m;
+		bullet[count] = isBullet;
+		minX[count] = Math.min(x, tx);
+		maxX[count] = Math.max(x, tx) + m.getWidth();
+		minY[count] = Math.min(y, ty);
+		maxY[count] = Math.max(y, ty) + m.getHeight();
+		keys[count] = ((minX[count] + KEY_OFFSET) << 32) | count;
+		count++;
+	}
+
+	/**
+	 * Sort objects and find all the candidate pairs
+	 *
+	 * @return number of pairs found
+	 */
+	public int findPairs() {
+		Arrays.sort(keys, 0, count);
+		pairCount = 0;
+		int activeCount = 0;
+		for (int k = 0; k < count; k++) {
+			int current = (int) keys[k];
+			int left = minX[current];
+			int kept = 0;
+			for (int a = 0; a < activeCount; a++) {
+				int other = active[a];
+				if (maxX[other] <= left)
+					continue;
+				active[kept++] = other;
+				if ((bullet[current] || bullet[other]) && minY[current] < maxY[other] && minY[other] < maxY[current])
+					addPair(other, current);
+			}
+			activeCount = kept;
+			active[activeCount++] = current;
+		}
+		return pairCount;
+	}
+
+	/**
+	 * @param pair number of the pair
+	 * @return first object of the pair
+	 */
+	public Movable getFirst(int pair) {
+		return objects[pairs[2 * pair]];
+	}
+
+	/**
+	 * @param pair number of the pair
+	 * @return second object of the pair
+	 */
+	public Movable getSecond(int pair) {
+		return objects[pairs[2 * pair + 1]];
+	}
+
+	private void addPair(int first, int second) {
+		if (2 * pairCount + 1 >= pairs.length)
+			pairs = Arrays.copyOf(pairs, pairs.length * 2);
+		pairs[2 * pairCount] = first;
+		pairs[2 * pairCount + 1] = second;
+		pairCount++;
+	}
+
+	private void grow() {
+		int size = objects.length * 2;
+		objects = Arrays.copyOf(objects, size);
+		bullet = Arrays.copyOf(bullet, size);
+		minX = Arrays.copyOf(minX, size);
+		maxX = Arrays.copyOf(maxX, size);
+		minY = Arrays.copyOf(minY, size);
+		maxY = Arrays.copyOf(maxY, size);
+		keys = Arrays.copyOf(keys, size);
+		active = Arrays.copyOf(active, size);
+	}
+}
@@ -0,0 +1,20 @@
+package game_engine;
+
+/**
+ * Brain of an enemy tank. Decisions of all enemies are made in a separate phase of the tick against the same
+ * {@link WorldSnapshot}, possibly on several threads at once, and are applied by the world afterwards.
+ * <p>
+ * So a controller must not change the world, and it should use only its own state and the snapshot. Then decisions
+ * don't depend on the order they were made in and the game stays deterministic.
+ */
+public interface TankController {
+
+	/**
+	 * Decide what the tank does on this tick
+	 *
+	 * @param snapshot state of the world at the start of the decision phase
+	 * @param self     index of the controlled tank in the snapshot
+	 * @param decision decision to fill, it is reused between ticks
+	 */
+	void decide(WorldSnapshot snapshot, int self, TankDecision decision);
+}
@@ -0,0 +1,28 @@
+package game_engine;
+
+import game_objects.movables.Direction;
+
+/**
+ * What an enemy tank does on a tick: which way it goes and whether it tries to fire
+ */
+public class TankDecision {
+
+	private Direction direction;
+	private boolean fire;
+
+	public Direction getDirection() {
+		return direction;
+	}
+
+	public void setDirection(Direction direction) {
+		this.direction = direction;
+	}
+
+	public boolean isFire() {
+		return fire;
+	}
+
+	public void setFire(boolean fire) {
+		this.fire = fire;
+	}
+}
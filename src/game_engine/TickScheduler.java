@@ -0,0 +1,201 @@
+package game_engine;
+
+/**
+ * Runs tasks after a number of ticks, counted by {@link #advance()} instead of the clock, so timed effects of the game
+ * are as deterministic as the rest of it.
+ * <p>
+ * Tasks wait in a hierarchical timing wheel: {@value #LEVELS} wheels of {@value #SLOTS} slots, the first one with a
+ * slot for each of the next ticks, every next one with slots {@value #SLOTS} times as long. A task goes into the
+ * finest wheel its delay fits into and moves down to the finer ones when the time of its slot comes, so scheduling,
+ * cancelling and advancing cost O(1) however many tasks wait. Tasks due on the same tick run in an order that depends
+ * only on the ticks they were scheduled on and their delays, so it is the same every time the game is played.
+ * <p>
+ * The scheduler isn't thread-safe, it must be used by the thread that advances it, or before that thread starts.
+ */
+public class TickScheduler {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	/**
+	 * Longest delay the wheels cover, tasks due later wait in the last slot and are placed again from there
+	 */
+	private static final long MAX_DELAY = (1L << SLOT_BITS * LEVELS) - 1;
+
+	/**
+	 * Tasks of every slot as a doubly linked list in the order they were added
+	 */
+	private final Handle[][] heads = new Handle[LEVELS][SLOTS];
+	private final Handle[][] tails = new Handle[LEVELS][SLOTS];
+	private long tick;
+
+	/**
+	 * Run the task once
+	 *
+	 * @param delay ticks from now, at least 1
+	 * @return handle the task can be cancelled with
+	 */
+	public Handle schedule(long delay, Runnable task) {
+		return scheduleRepeating(delay, 0, task);
+	}
+
+	/**
+	 * Run the task again and again until it is cancelled
+	 *
+	 * @param delay  ticks from now to the first run, at least 1
+	 * @param period ticks between the runs, 0 to run it only once
+	 * @return handle the task can be cancelled with
+	 */
+	public Handle scheduleRepeating(long delay, long period, Runnable task) {
+		if (delay < 1)
+			throw new IllegalArgumentException("Delay: " + delay);
+		if (period < 0)
+			throw new IllegalArgumentException("Period: " + period);
+		Handle handle = new Handle(task, tick + delay, period);
+		insert(handle);
+		return handle;
+	}
+
+	/**
+	 * Move to the next tick and run the tasks due on it
+	 */
+	public void advance() {
+		tick++;
+		//The coarser wheels turn by one slot when all the finer ones have gone around
+		int level = 0;
+		for (long t = tick; level < LEVELS - 1 && (t & MASK) == 0; t >>>= SLOT_BITS)
+			level++;
+		for (; level > 0; level--)
+			cascade(level, slot(tick, level));
+
+		int index = slot(tick, 0);
+		Handle handle;
+		//Tasks scheduled by the running ones always go into other slots
+		while ((handle = heads[0][index]) != null) {
+			unlink(handle);
+			handle.task.run();
+			if (handle.period > 0 && !handle.cancelled) {
+				handle.due += handle.period;
+				insert(handle);
+			} else {
+				handle.finish();
+			}
+		}
+	}
+
+	/**
+	 * @return ticks the scheduler has advanced by
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	private static int slot(long time, int level) {
+		return (int) (time >>> SLOT_BITS * level) & MASK;
+	}
+
+	private void insert(Handle handle) {
+		long target = Math.min(handle.due, tick + MAX_DELAY);
+		long delay = target - tick;
+		int level = 0;
+		while (level < LEVELS - 1 && delay >= 1L << SLOT_BITS * (level + 1))
+			level++;
+		int index = slot(target, level);
+		handle.level = level;
+		handle.slot = index;
+		handle.previous = tails[level][index];
+		if (handle.previous == null)
+			heads[level][index] = handle;
+		else
+			handle.previous.next = handle;
+		tails[level][index] = handle;
+	}
+
+	private void unlink(Handle handle) {
+		Handle[] levelHeads = heads[handle.level], levelTails = tails[handle.level];
+		if (handle.previous == null)
+			levelHeads[handle.slot] = handle.next;
+		else
+			handle.previous.next = handle.next;
+		if (handle.next == null)
+			levelTails[handle.slot] = handle.previous;
+		else
+			handle.next.previous = handle.previous;
+		handle.previous = handle.next = null;
+		handle.level = -1;
+	}
+
+	/**
+	 * Place the tasks of the slot again, now they fit into the finer wheels
+	 */
+	private void cascade(int level, int index) {
+		Handle handle = heads[level][index];
+		heads[level][index] = tails[level][index] = null;
+		while (handle != null) {
+			Handle next = handle.next;
+			handle.previous = handle.next = null;
+			insert(handle);
+			handle = next;
+		}
+	}
+
+	/**
+	 * Scheduled task
+	 */
+	public final class Handle {
+
+		private Runnable task;
+		private long due;
+		private final long period;
+		private boolean cancelled;
+		/**
+		 * Wheel and slot the task waits in, level is -1 when it doesn't wait
+		 */
+		private int level = -1;
+		private int slot;
+		private Handle previous;
+		private Handle next;
+
+		private Handle(Runnable task, long due, long period) {
+			this.task = task;
+			this.due = due;
+			this.period = period;
+		}
+
+		/**
+		 * Don't run the task anymore. A running task can cancel itself
+		 *
+		 * @return false if the task had already been cancelled or had run for the last time
+		 */
+		public boolean cancel() {
+			if (task == null || cancelled)
+				return false;
+			cancelled = true;
+			//A running task is released when it returns
+			if (level >= 0) {
+				unlink(this);
+				task = null;
+			}
+			return true;
+		}
+
+		/**
+		 * @return true while the task waits to run again
+		 */
+		public boolean isPending() {
+			return level >= 0;
+		}
+
+		/**
+		 * @return tick of the next run
+		 */
+		public long getDueTick() {
+			return due;
+		}
+
+		private void finish() {
+			task = null;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package game_engine;
+
+import game_objects.movables.Direction;
+import game_objects.movables.EnemyTank;
+import game_objects.movables.PlayerTank;
+import game_objects.movables.Tank;
+import map_tools.Map;
+
+import static game_content.GameField.FIELD_DIMENSIONS;
+
+/**
+ * Copy of the tanks at the start of the decision phase. It is not changed while controllers make their decisions,
+ * so they can read it from several threads. The map and the flow field are not copied, because nothing changes them
+ * during the phase. Arrays are reused from tick to tick.
+ */
+public class WorldSnapshot {
+
+	private Map map;
+	private FlowField flowField;
+	private long tick;
+	private int count;
+	private int player = -1;
+	private int[] x = new int[0];
+	private int[] y = new int[0];
+	private int[] width = new int[0];
+	private int[] height = new int[0];
+	private Direction[] directions = new Direction[0];
+	private boolean[] enemy = new boolean[0];
+
+	/**
+	 * Copy the tanks
+	 */
+	void capture(Tank[] tanks, int count, Map map, FlowField flowField, long tick) {
+		this.map = map;
+		this.flowField = flowField;
+		this.tick = tick;
+		this.count = count;
+		if (x.length < count) {
+			x = new int[tanks.length];
+			y = new int[tanks.length];
+			width = new int[tanks.length];
+			height = new int[tanks.length];
+			directions = new Direction[tanks.length];
+			enemy = new boolean[tanks.length];
+		}
+		player = -1;
+		for (int i = 0; i < count; i++) {
+			Tank t = tanks[i];
+			x[i] = t.getX();
+			y[i] = t.getY();
+			width[i] = t.isVisible() ? t.getWidth() : 0;
+			height[i] = t.isVisible() ? t.getHeight() : 0;
+			directions[i] = t.getCurrentDir();
+			enemy[i] = t instanceof EnemyTank;
+			if (t instanceof PlayerTank)
+				player = i;
+		}
+	}
+
+	/**
+	 * Check if the tank could move one step in the direction, taking into account the shift tanks make when they
+	 * turn. Same as the collision checks of the world, but against the snapshot
+	 *
+	 * @param self      index of the tank
+	 * @param direction direction of the step
+	 * @return true if the tank wouldn't hit the border of the field, a wall or another tank
+	 */
+	public boolean canMove(int self, Direction direction) {
+		int nx = x[self], ny = y[self];
+		if (Direction.isTurn(directions[self], direction)) {
+			if (direction.getDx() == 0)
+				nx = Tank.round(nx);
+			else
+				ny = Tank.round(ny);
+		}
+		nx += direction.getDx() * Tank.SPEED;
+		ny += direction.getDy() * Tank.SPEED;
+		int w = width[self], h = height[self];
+		if (nx < 0 || ny < 0 || nx + w > FIELD_DIMENSIONS || ny + h > FIELD_DIMENSIONS)
+			return false;
+		if (map.collides(nx, ny, w, h))
+			return false;
+		for (int i = 0; i < count; i++) {
+			if (i != self && width[i] > 0
+					&& nx < x[i] + width[i] && x[i] < nx + w && ny < y[i] + height[i] && y[i] < ny + h)
+				return false;
+		}
+		return true;
+	}
+
+	public Map getMap() {
+		return map;
+	}
+
+	/**
+	 * @return distances to the base
+	 */
+	public FlowField getFlowField() {
+		return flowField;
+	}
+
+	/**
+	 * @return tick the snapshot was taken on
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	public int getTankCount() {
+		return count;
+	}
+
+	/**
+	 * @return index of the player tank or -1 if it's not on the field
+	 */
+	public int getPlayer() {
+		return player;
+	}
+
+	public int getX(int i) {
+		return x[i];
+	}
+
+	public int getY(int i) {
+		return y[i];
+	}
+
+	/**
+	 * @return width of the tank, 0 if it was destroyed
+	 */
+	public int getWidth(int i) {
+		return width[i];
+	}
+
+	/**
+	 * @return height of the tank, 0 if it was destroyed
+	 */
+	public int getHeight(int i) {
+		return height[i];
+	}
+
+	public Direction getDirection(int i) {
+		return directions[i];
+	}
+
+	public boolean isEnemy(int i) {
+		return enemy[i];
+	}
+}
@@ -2,12 +2,10 @@ package game_objects;
 
 import game_content.GameField;
 
-import javax.imageio.ImageIO;
+import resources_classes.SpriteAtlas;
+
 import java.awt.*;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 
 public class Sprite {
 	private int x;
@@ -29,17 +27,12 @@ public class Sprite {
 	}
 
 	/**
-	 * Load image that will serve as a sprite
+	 * Load image that will serve as a sprite. Image is shared between all the sprites with the same name
 	 *
 	 * @param imageName name of an image
 	 */
 	protected void loadImage(String imageName) {
-		try {
-			image = ImageIO.read(new File(imageName));
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		image = scale(image);
+		image = SpriteAtlas.get(imageName);
 	}
 
 	/**
@@ -49,15 +42,7 @@ public class Sprite {
 	 * @return scaled image
 	 */
 	protected static BufferedImage scale(BufferedImage sbi) {
-		int sc = GameField.SCALE;
-		BufferedImage dbi = null;
-		if (sbi != null) {
-			dbi = new BufferedImage(sbi.getWidth() * sc, sbi.getHeight() * sc, BufferedImage.TYPE_INT_ARGB);
-			Graphics2D g = dbi.createGraphics();
-			AffineTransform at = AffineTransform.getScaleInstance(sc, sc);
-			g.drawRenderedImage(sbi, at);
-		}
-		return dbi;
+		return SpriteAtlas.scale(sbi, GameField.SCALE);
 	}
 
 	public Image getImage() {
@@ -99,4 +84,45 @@ public class Sprite {
 	public Rectangle getBounds() {
 		return new Rectangle(x, y, width, height);
 	}
+
+	/**
+	 * Check if the sprite intersects with the rectangle. Works the same way as {@link Rectangle#intersects(Rectangle)}, but doesn't create any objects
+	 *
+	 * @return true if they intersect
+	 */
+	public boolean intersects(int x, int y, int width, int height) {
+		return intersects(this.x, this.y, this.width, this.height, x, y, width, height);
+	}
+
+	/**
+	 * Check if two sprites intersect
+	 *
+	 * @param other other sprite
+	 * @return true if they intersect
+	 */
+	public boolean intersects(Sprite other) {
+		return intersects(other.x, other.y, other.width, other.height);
+	}
+
+	/**
+	 * Intersection of two rectangles given by their coordinates and dimensions
+	 *
+	 * @return true if rectangles intersect
+	 */
+	protected static boolean intersects(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+		if (w1 <= 0 || h1 <= 0 || w2 <= 0 || h2 <= 0)
+			return false;
+		return x1 < x2 + w2 && x2 < x1 + w1 && y1 < y2 + h2 && y2 < y1 + h1;
+	}
+
+	/**
+	 * Check if the first rectangle fully contains the second one. Works the same way as {@link Rectangle#contains(Rectangle)}
+	 *
+	 * @return true if the first rectangle contains the second one
+	 */
+	protected static boolean contains(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+		if (w1 <= 0 || h1 <= 0 || w2 <= 0 || h2 <= 0)
+			return false;
+		return x2 >= x1 && y2 >= y1 && x2 + w2 <= x1 + w1 && y2 + h2 <= y1 + h1;
+	}
 }
@@ -2,20 +2,18 @@ package game_objects.map_objects.powerups;
 
 import game_objects.Sprite;
 
-import java.util.Random;
-
 public class PowerUp extends Sprite {
 
 	private Type type;
 
-	public PowerUp(int x, int y) {
+	public PowerUp(int x, int y, Type type) {
 		super(x, y);
+		this.type = type;
 
 		init();
 	}
 
 	private void init() {
-		type = Type.values()[new Random().nextInt(Type.values().length)];
 		switch (type) {
 			case UPGRADE:
 				loadImage("resources/sprites/powerups/upgrade.png");
@@ -2,8 +2,6 @@ package game_objects.map_objects.turf;
 
 import game_content.GameField;
 import game_objects.Sprite;
-import javafx.scene.media.AudioClip;
-import resources_classes.GameSound;
 
 public class Explosion extends Sprite {
 
@@ -22,18 +20,36 @@ public class Explosion extends Sprite {
 		getImageDimensions();
 	}
 
-	public void cycle() {
-		AudioClip explosionSound = GameSound.getExplosionSoundInstance();
-		explosionSound.setVolume(GameSound.explosionSoundVolume);
+	/**
+	 * Reinitialize the explosion, so it can be shown again
+	 *
+	 * @param x x coordinate
+	 * @param y y coordinate
+	 */
+	public void reset(int x, int y) {
+		setX(x);
+		setY(y);
+		setVisible(true);
+		i = 0;
+		init();
+	}
+
+	/**
+	 * Next frame of the explosion animation
+	 *
+	 * @return true if explosion makes a sound on this frame
+	 */
+	public boolean cycle() {
+		boolean detonated = false;
 		if(i == DELAY ) {
 			loadImage("resources/sprites/map/explosion2.png");
-			explosionSound.play();
+			detonated = true;
 		} else if(i== DELAY *2) {
 			loadImage("resources/sprites/map/explosion3.png");
 		} else if(i== DELAY *3) {
 			setVisible(false);
-		} else if(i== DELAY *4)
-			explosionSound.stop();
+		}
 		++i;
+		return detonated;
 	}
 }
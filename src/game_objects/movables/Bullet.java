@@ -2,24 +2,49 @@ package game_objects.movables;
 
 import game_content.GameField;
 import game_objects.Destructible;
-import game_objects.map_objects.turf.Explosion;
 
 public class Bullet extends Movable implements Destructible {
 
 	/**
 	 * Weird behaviour on big speeds, DON'T CHANGE
 	 */
-	private int speed = GameField.SCALE;
+	private int speed;
 	public final static int WIDTH = 3 * GameField.SCALE;
 	public final static int HEIGHT = 4 * GameField.SCALE;
 
-	private Explosion explosion;
+	private Tank owner;
 
 	public Bullet(int x, int y, Direction dir, int speed) {
 		super(x, y, dir);
-		this.speed *= speed;
 
 		init();
+		reset(x, y, dir, speed);
+	}
+
+	private void init() {
+		loadImage("resources/sprites/bullet/bullet_%s.png");
+	}
+
+	/**
+	 * Reinitialize the bullet, so it can be fired again
+	 *
+	 * @param x     x coordinate
+	 * @param y     y coordinate
+	 * @param dir   direction of the flight
+	 * @param speed speed multiplier
+	 */
+	public void reset(int x, int y, Direction dir, int speed) {
+		setX(x);
+		setY(y);
+		savePosition();
+		setVisible(true);
+		owner = null;
+		currentDir = dir;
+		image = directions[dir.ordinal()];
+		getImageDimensions();
+		this.speed = GameField.SCALE * speed;
+		dx = 0;
+		dy = 0;
 		switch (currentDir) {
 			case WEST:
 				dx = -this.speed;
@@ -36,24 +61,46 @@ public class Bullet extends Movable implements Destructible {
 		}
 	}
 
-	private void init() {
-		loadImage("resources/sprites/bullet/bullet_%s.png");
-		getImageDimensions();
+	/**
+	 * @param owner tank that has shot this bullet
+	 */
+	void setOwner(Tank owner) {
+		this.owner = owner;
 	}
 
+	public Tank getOwner() {
+		return owner;
+	}
+
+	/**
+	 * Destroy the bullet. Only the first call has an effect
+	 */
 	@Override
 	public void destroy() {
+		if (!isVisible())
+			return;
 		setVisible(false);
+		if (owner != null)
+			owner.bulletDestroyed();
+	}
+
+	/**
+	 * @return x coordinate of the explosion caused by this bullet
+	 */
+	public int getExplosionX() {
 		int expX = getX() - GameField.BYTE;
-		int expY = getY() - GameField.BYTE;
-		if (currentDir == Direction.EAST || currentDir == Direction.SOUTH) {
+		if (currentDir == Direction.EAST || currentDir == Direction.SOUTH)
 			expX += getWidth();
-			expY += getHeight();
-		}
-		explosion = new Explosion(PlayerTank.round(expX), PlayerTank.round(expY));
+		return PlayerTank.round(expX);
 	}
 
-	public Explosion getExplosion() {
-		return explosion;
+	/**
+	 * @return y coordinate of the explosion caused by this bullet
+	 */
+	public int getExplosionY() {
+		int expY = getY() - GameField.BYTE;
+		if (currentDir == Direction.EAST || currentDir == Direction.SOUTH)
+			expY += getHeight();
+		return PlayerTank.round(expY);
 	}
 }
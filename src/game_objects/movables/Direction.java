@@ -7,7 +7,28 @@ import java.util.Set;
  * Enum for directions. It is used for simplifying the code readability in some places.
  */
 public enum Direction {
-	WEST, EAST, NORTH, SOUTH;
+	WEST(-1, 0), EAST(1, 0), NORTH(0, -1), SOUTH(0, 1);
+
+	private final int dx, dy;
+
+	Direction(int dx, int dy) {
+		this.dx = dx;
+		this.dy = dy;
+	}
+
+	/**
+	 * @return -1, 0 or 1, sign of the horizontal movement in this direction
+	 */
+	public int getDx() {
+		return dx;
+	}
+
+	/**
+	 * @return -1, 0 or 1, sign of the vertical movement in this direction
+	 */
+	public int getDy() {
+		return dy;
+	}
 
 	/**
 	 * If two directions are in near each other, or, in other words, we are making 90 percent turn, we return true. Else it's always false
@@ -1,9 +1,11 @@
 package game_objects.movables;
 
-import java.util.Random;
+import game_engine.TankController;
 
 public class EnemyTank extends Tank {
 
+	private TankController controller;
+
 	public EnemyTank(int x, int y, Direction dir) {
 		super(x, y, dir, 4000);
 		init();
@@ -15,9 +17,11 @@ public class EnemyTank extends Tank {
 		getImageDimensions();
 	}
 
-	@Override
-	public void move() {
-		super.move();
-		fire();
+	public TankController getController() {
+		return controller;
+	}
+
+	public void setController(TankController controller) {
+		this.controller = controller;
 	}
 }
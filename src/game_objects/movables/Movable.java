@@ -1,12 +1,10 @@
 package game_objects.movables;
 
 import game_objects.Sprite;
+import resources_classes.SpriteAtlas;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 
 public abstract class Movable extends Sprite {
 
@@ -16,32 +14,49 @@ public abstract class Movable extends Sprite {
 	 * Directions images in such an order: west, east, north, south
 	 */
 	protected Direction currentDir;
+	/**
+	 * Position at the start of the current tick, the renderer interpolates from it to the current one
+	 */
+	private int previousX, previousY;
 
 	public Movable(int x, int y, Direction dir) {
 		super(x, y);
 		currentDir = dir;
+		savePosition();
 	}
 
 	/**
 	 * Load images for different directions. String should be in such form: "path/image_name_%s.png", where %s is a place where direction goes
+	 * Images are shared between all the movables with the same name, so the array must not be modified
 	 * @param imageName name of an image
 	 */
 	@Override
 	protected void loadImage(String imageName) {
-		directions = new BufferedImage[4];
-		for (int i = 0; i < 4; i++) {
-			String dir = Direction.values()[i].toString().toLowerCase();
-			String str = String.format(imageName, dir);
-			try {
-				directions[i] = ImageIO.read(new File(str));
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
-			directions[i] = scale(directions[i]);
-		}
+		directions = SpriteAtlas.getDirections(imageName);
 		image = directions[currentDir.ordinal()];
 	}
 
+	public Direction getCurrentDir() {
+		return currentDir;
+	}
+
+	/**
+	 * Remember the current position as the one the next movement starts from. Called at the start of every tick and
+	 * when the object is placed somewhere instead of moving there
+	 */
+	public void savePosition() {
+		previousX = getX();
+		previousY = getY();
+	}
+
+	public int getPreviousX() {
+		return previousX;
+	}
+
+	public int getPreviousY() {
+		return previousY;
+	}
+
 	/**
 	 * Method that moves the object on the board. Should be used only when check for collision was already made.
 	 */
@@ -62,4 +77,42 @@ public abstract class Movable extends Sprite {
 		return rect;
 	}
 
+	/**
+	 * @return x coordinate that object <u><b>would have</b></u> if it moved at this moment
+	 */
+	public int getTheoreticalX() {
+		return getX() + dx;
+	}
+
+	/**
+	 * @return y coordinate that object <u><b>would have</b></u> if it moved at this moment
+	 */
+	public int getTheoreticalY() {
+		return getY() + dy;
+	}
+
+	/**
+	 * Same as checking {@link #getTheoreticalBounds()} against the rectangle, but without creating any objects
+	 *
+	 * @return true if object would intersect with the rectangle if it moved at this moment
+	 */
+	public boolean theoreticalIntersects(int x, int y, int width, int height) {
+		return intersects(getTheoreticalX(), getTheoreticalY(), getWidth(), getHeight(), x, y, width, height);
+	}
+
+	/**
+	 * @param other other sprite
+	 * @return true if object would intersect with the other sprite if it moved at this moment
+	 */
+	public boolean theoreticalIntersects(Sprite other) {
+		return theoreticalIntersects(other.getX(), other.getY(), other.getWidth(), other.getHeight());
+	}
+
+	/**
+	 * @return true if object would be fully inside the rectangle if it moved at this moment
+	 */
+	public boolean theoreticallyInside(int x, int y, int width, int height) {
+		return contains(x, y, width, height, getTheoreticalX(), getTheoreticalY(), getWidth(), getHeight());
+	}
+
 }
@@ -2,34 +2,71 @@ package game_objects.movables;
 
 import game_content.GameField;
 import game_objects.Destructible;
-
-import java.awt.event.KeyEvent;
+import resources_classes.SpriteAtlas;
 
 public class PlayerTank extends Tank implements Destructible {
 
 	private int level = 1;
+	/**
+	 * Milliseconds between the shots on every upgrade level
+	 */
+	private int[] fireDelays = {1500, 1000, 500};
+	/**
+	 * Index of the player, tanks of the second player are recolored
+	 */
+	private final int player;
 
 	public PlayerTank(int x, int y, Direction dir) {
-		super(x, y, dir, 1500);
+		this(x, y, dir, 0);
+	}
+
+	public PlayerTank(int x, int y, Direction dir, int player) {
+		super(x, y, dir, 0);
+		setDelay(fireDelays[0]);
+		this.player = player;
 
 		init();
 	}
 
+	@Override
+	protected void loadImage(String imageName) {
+		if (player == 0) {
+			super.loadImage(imageName);
+		} else {
+			directions = SpriteAtlas.getTintedDirections(imageName);
+			image = directions[currentDir.ordinal()];
+		}
+	}
+
+	/**
+	 * @param fireDelays milliseconds between the shots on the first, second and third upgrade level
+	 */
+	public void setFireDelays(int[] fireDelays) {
+		this.fireDelays = fireDelays;
+		setDelay(fireDelays[level - 1]);
+	}
+
+	public int getPlayer() {
+		return player;
+	}
+
 	private void init() {
 		loadImage("resources/sprites/player_tank/lvl1/tank_%s.png");
 		getImageDimensions();
 	}
 
-	public void keyReleased(KeyEvent e) {
-		int key = e.getKeyCode();
-
-		if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_RIGHT) {
-			dx = 0;
-		}
+	/**
+	 * Left or right arrow released
+	 */
+	public void stopHorizontal() {
+		dx = 0;
+	}
 
-		if (key == KeyEvent.VK_UP || key == KeyEvent.VK_DOWN) {
-			dy = 0;
-		}
+	/**
+	 * Up or down arrow released
+	 */
+	public void stopVertical() {
+		dy = 0;
 	}
 
 	public void upgrade() {
@@ -37,11 +74,11 @@ public class PlayerTank extends Tank implements Destructible {
 		if (level == 2) {
 			loadImage("resources/sprites/player_tank/lvl2/tank_%s.png");
 			setBulletSpeed(3);
-			setDelay(1000);
+			setDelay(fireDelays[1]);
 		} else if (level == 3) {
 			loadImage("resources/sprites/player_tank/lvl3/tank_%s.png");
 			setBulletSpeed(4 );
-			setDelay(500);
+			setDelay(fireDelays[2]);
 		}
 
 	}
@@ -1,29 +1,32 @@
 package game_objects.movables;
 
 import game_content.GameField;
+import game_engine.Pool;
 import game_objects.Destructible;
 
-import java.util.ArrayList;
-
 public abstract class Tank extends Movable implements Destructible {
 
-	private final static int SPEED = GameField.SCALE;
+	/**
+	 * Distance the tank moves in one tick
+	 */
+	public final static int SPEED = GameField.SCALE;
 	private int bulletSpeed = 2;
 	/**
-	 * Delay between bullets (in milliseconds)
+	 * Delay between bullets (in milliseconds), counted in game ticks
 	 */
 	private int delay;
-	private ArrayList<Bullet> bullets;
-	private long bulletTimer;
+	/**
+	 * Number of bullets that tank has shot and that are still flying
+	 */
+	private int activeBullets;
+	/**
+	 * Tick of the last shot, negative if the tank hasn't fired yet
+	 */
+	private long lastShotTick = -1;
 
 	public Tank(int x, int y, Direction dir, int delay) {
 		super(x, y, dir);
 		this.delay = delay;
-		init();
-	}
-
-	private void init() {
-		bullets = new ArrayList<>();
 	}
 
 	@Override
@@ -72,22 +75,30 @@ public abstract class Tank extends Movable implements Destructible {
 	}
 
 	/**
-	 * Get bullets that tank has shot
-	 *
-	 * @return bullets
+	 * @return number of bullets that tank has shot and that are still flying
 	 */
-	public ArrayList<Bullet> getBullets() {
-		return bullets;
+	public int getActiveBullets() {
+		return activeBullets;
 	}
 
 	/**
-	 * PlayerTank fires a bullet. It should be copied to GameField, where we can control their collision
+	 * Called by the bullet of this tank when it's destroyed
+	 */
+	void bulletDestroyed() {
+		activeBullets--;
+	}
+
+	/**
+	 * Tank fires a bullet. It should be added to the game world, where we can control its collision
+	 *
+	 * @param pool pool the bullet is taken from
+	 * @param tick current tick of the game
+	 * @return fired bullet or null if the tank is not ready to fire yet
 	 */
-	public void fire() {
-		long timePassed = System.currentTimeMillis() - bulletTimer;
-		int delay = bullets.isEmpty() ? this.delay / 3 : this.delay;
-		if (timePassed < delay)
-			return;
+	public Bullet fire(Pool<? extends Bullet> pool, long tick) {
+		int delay = activeBullets == 0 ? this.delay / 3 : this.delay;
+		if (lastShotTick >= 0 && (tick - lastShotTick) * GameField.DELAY < delay)
+			return null;
 		int x, y;
 		switch (currentDir) {
 			case WEST:
@@ -107,11 +118,12 @@ public abstract class Tank extends Movable implements Destructible {
 				y = getY() + getHeight();
 				break;
 		}
-		if (this instanceof EnemyTank)
-			bullets.add(new EnemyBullet(x, y, currentDir,2));
-		else
-			bullets.add(new Bullet(x, y, currentDir,bulletSpeed));
-		bulletTimer = System.currentTimeMillis();
+		Bullet bullet = pool.obtain();
+		bullet.reset(x, y, currentDir, bulletSpeed);
+		bullet.setOwner(this);
+		activeBullets++;
+		lastShotTick = tick;
+		return bullet;
 	}
 
 	protected void setBulletSpeed(int bulletSpeed) {
@@ -128,7 +140,7 @@ public abstract class Tank extends Movable implements Destructible {
 	 * @param num needed coordinate
 	 * @return rounded coordinate
 	 */
-	static int round(double num) {
+	public static int round(double num) {
 		num /= GameField.BYTE;
 		num = Math.round(num) * GameField.BYTE;
 		return (int) num;
@@ -0,0 +1,82 @@
+package map_tools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+
+/**
+ * Least recently used levels unpacked from a {@link LevelPack}. Levels are loaded from the background while the game
+ * runs, so the cache is synchronized.
+ */
+public final class LevelCache {
+
+	/**
+	 * System property with the path of the level pack
+	 */
+	public static final String PACK_PROPERTY = "tankwar.levels";
+	public static final String DEFAULT_PACK = "resources/levels/levels.pack";
+	/**
+	 * Number of unpacked levels that are kept
+	 */
+	public static final int CAPACITY = 16;
+
+	private static LevelCache shared;
+
+	private final LevelPack pack;
+	private final LinkedHashMap<Integer, byte[]> levels;
+
+	public LevelCache(LevelPack pack, int capacity) {
+		this.pack = pack;
+		levels = new LinkedHashMap<Integer, byte[]>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(java.util.Map.Entry<Integer, byte[]> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Cache of the pack from {@link #PACK_PROPERTY}, the pack is opened on the first call
+	 *
+	 * @return shared cache
+	 * @throws UncheckedIOException if the pack can't be opened
+	 */
+	public static synchronized LevelCache getShared() {
+		if (shared == null) {
+			try {
+				shared = new LevelCache(LevelPack.open(Paths.get(System.getProperty(PACK_PROPERTY, DEFAULT_PACK))), CAPACITY);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Get the tile kinds of a level, unpacking it if it isn't cached
+	 *
+	 * @param index index of the level in the pack
+	 * @return shared array of tile kinds, must not be modified
+	 * @throws UncheckedIOException if the level is corrupted
+	 */
+	public synchronized byte[] get(int index) {
+		byte[] kinds = levels.get(index);
+		if (kinds == null) {
+			try {
+				kinds = pack.read(index);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			levels.put(index, kinds);
+		}
+		return kinds;
+	}
+
+	/**
+	 * @return number of levels in the pack
+	 */
+	public int size() {
+		return pack.size();
+	}
+}
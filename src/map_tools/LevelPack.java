@@ -0,0 +1,90 @@
+package map_tools;
+
+import game_content.GameField;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only level pack mapped into memory. Opening the pack reads only the header, a level is unpacked when it is
+ * asked for, so packs with hundreds of levels cost nothing at startup.
+ * <p>
+ * Format, big-endian: magic "TWLP", version, map size and number of levels as ints, then the levels one after another.
+ * A level is the tile kinds of {@link Map} row by row, two tiles per byte, the first one in the high half.
+ */
+public final class LevelPack {
+
+	public static final int MAGIC = 0x54574C50;
+	public static final int VERSION = 1;
+	static final int HEADER_SIZE = 4 * 4;
+	static final int TILES = GameField.MAP_SIZE * GameField.MAP_SIZE;
+	/**
+	 * Bytes taken by one level
+	 */
+	static final int LEVEL_SIZE = (TILES + 1) / 2;
+
+	private final ByteBuffer buffer;
+	private final int count;
+
+	private LevelPack(ByteBuffer buffer, int count) {
+		this.buffer = buffer;
+		this.count = count;
+	}
+
+	/**
+	 * Map the pack into memory and check its header
+	 *
+	 * @param path level pack file
+	 * @return opened pack
+	 * @throws IOException if the file can't be read or isn't a level pack of this version
+	 */
+	public static LevelPack open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE)
+				throw new IOException(path + " is too short for a level pack");
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt(0) != MAGIC)
+				throw new IOException(path + " is not a level pack");
+			if (buffer.getInt(4) != VERSION)
+				throw new IOException(path + " has unsupported version " + buffer.getInt(4));
+			if (buffer.getInt(8) != GameField.MAP_SIZE)
+				throw new IOException(path + " has maps of size " + buffer.getInt(8));
+			int count = buffer.getInt(12);
+			if (count < 0 || HEADER_SIZE + (long) count * LEVEL_SIZE > channel.size())
+				throw new IOException(path + " is truncated");
+			return new LevelPack(buffer, count);
+		}
+	}
+
+	/**
+	 * @return number of levels in the pack
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Unpack the tile kinds of a level
+	 *
+	 * @param index index of the level, from 0
+	 * @return new array of MAP_SIZE * MAP_SIZE tile kinds
+	 * @throws IOException if the level has unknown tile kinds
+	 */
+	public byte[] read(int index) throws IOException {
+		if (index < 0 || index >= count)
+			throw new IndexOutOfBoundsException("Level " + index + " of " + count);
+		byte[] kinds = new byte[TILES];
+		int offset = HEADER_SIZE + index * LEVEL_SIZE;
+		for (int i = 0; i < TILES; i++) {
+			int packed = buffer.get(offset + i / 2);
+			byte kind = (byte) ((i % 2 == 0 ? packed >> 4 : packed) & 0xF);
+			if (kind > Map.COVER)
+				throw new IOException("Level " + index + " has unknown tile kind " + kind);
+			kinds[i] = kind;
+		}
+		return kinds;
+	}
+}
@@ -0,0 +1,112 @@
+package map_tools;
+
+import game_content.GameField;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds level packs from text levels. A text level has MAP_SIZE lines of MAP_SIZE digits, every digit is a tile
+ * kind from the legend of {@link Map}. Empty lines and lines starting with # are skipped.
+ * <p>
+ * Usage: {@code LevelPackWriter <pack> <level files or folders with *.txt levels>...}, levels from a folder are taken
+ * in the order of their names.
+ */
+public final class LevelPackWriter {
+
+	private LevelPackWriter() {
+	}
+
+	/**
+	 * Parse a text level
+	 *
+	 * @param lines lines of the level
+	 * @return MAP_SIZE * MAP_SIZE tile kinds
+	 * @throws IllegalArgumentException if the level has a wrong size or unknown tiles
+	 */
+	public static byte[] parse(List<String> lines) {
+		byte[] kinds = new byte[LevelPack.TILES];
+		int row = 0;
+		for (String line : lines) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			if (row == GameField.MAP_SIZE)
+				throw new IllegalArgumentException("More than " + GameField.MAP_SIZE + " rows");
+			if (line.length() != GameField.MAP_SIZE)
+				throw new IllegalArgumentException("Row " + (row + 1) + " has " + line.length() + " tiles");
+			for (int column = 0; column < GameField.MAP_SIZE; column++) {
+				int kind = line.charAt(column) - '0';
+				if (kind < Map.EMPTY || kind > Map.COVER)
+					throw new IllegalArgumentException("Unknown tile '" + line.charAt(column) + "' in row " + (row + 1));
+				kinds[row * GameField.MAP_SIZE + column] = (byte) kind;
+			}
+			row++;
+		}
+		if (row != GameField.MAP_SIZE)
+			throw new IllegalArgumentException("Only " + row + " rows");
+		return kinds;
+	}
+
+	/**
+	 * Write levels into a new pack
+	 *
+	 * @param pack   pack file, overwritten if exists
+	 * @param levels tile kinds of the levels
+	 */
+	public static void write(Path pack, List<byte[]> levels) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(LevelPack.HEADER_SIZE + levels.size() * LevelPack.LEVEL_SIZE);
+		buffer.putInt(LevelPack.MAGIC).putInt(LevelPack.VERSION).putInt(GameField.MAP_SIZE).putInt(levels.size());
+		for (byte[] kinds : levels) {
+			for (int i = 0; i < LevelPack.TILES; i += 2) {
+				int second = i + 1 < LevelPack.TILES ? kinds[i + 1] : 0;
+				buffer.put((byte) (kinds[i] << 4 | second));
+			}
+		}
+		buffer.flip();
+		try (FileChannel channel = FileChannel.open(pack, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: LevelPackWriter <pack> <level files or folders>...");
+			return;
+		}
+		List<Path> files = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			File file = new File(args[i]);
+			File[] levels = file.listFiles((dir, name) -> name.endsWith(".txt"));
+			if (levels == null) {
+				files.add(file.toPath());
+				continue;
+			}
+			Arrays.sort(levels);
+			for (File level : levels)
+				files.add(level.toPath());
+		}
+		List<byte[]> levels = new ArrayList<>();
+		for (Path file : files) {
+			try {
+				levels.add(parse(Files.readAllLines(file, StandardCharsets.UTF_8)));
+			} catch (IllegalArgumentException e) {
+				throw new IOException(file + ": " + e.getMessage(), e);
+			}
+		}
+		write(Paths.get(args[0]), levels);
+		System.out.println("Packed " + levels.size() + " levels into " + args[0]);
+	}
+}
@@ -1,409 +1,274 @@
 package map_tools;
 
 import game_content.GameField;
-import game_objects.map_objects.MapObject;
 import game_objects.map_objects.impassables.Base;
-import game_objects.map_objects.impassables.BrickWall;
-import game_objects.map_objects.impassables.SteelWall;
-import game_objects.map_objects.turf.Cover;
-import game_objects.map_objects.turf.Water;
+import game_objects.movables.Direction;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 /**
- * Map Object that simply extends ArrayList with MapObjects
- * Static method is used to acquire the needed level map
+ * Level map stored as flat arrays indexed by row * MAP_SIZE + column: kind of every tile and which quarters of
+ * every brick wall are still standing. Static method is used to acquire the needed level map from the level pack,
+ * see {@link LevelPack}
  * <p>
- * Integers are used for mapping. Here's the legend:
+ * The same numbers are used in level files and as tile kinds. Here's the legend:
  * 0 - empty
  * 1 - brick wall
  * 2 - steel wall
  * 3 - water
  * 4 - grass(?) cover
+ * <p>
+ * Brick walls are destroyed quarter by quarter, everything else either stops bullets or lets them fly through.
+ * The base takes four tiles, so it is kept apart as a sprite.
  */
-public class Map extends ConcurrentLinkedQueue<MapObject> {
+public class Map {
+
+    public static final byte EMPTY = 0;
+    public static final byte BRICK = 1;
+    public static final byte STEEL = 2;
+    public static final byte WATER = 3;
+    public static final byte COVER = 4;
+    /**
+     * Size of a brick wall quarter in pixels
+     */
+    public static final int QUARTER = GameField.BYTE / 2;
+    /**
+     * Brick mask with all four quarters standing. Bit 0 is the top left quarter, 1 top right, 2 bottom left and
+     * 3 bottom right
+     */
+    public static final byte WHOLE_BRICK = 0b1111;
+
+    /**
+     * Width of the hole a bullet blasts into brick walls, the same as a tank
+     */
+    private static final int BLAST_WIDTH = 2 * GameField.BYTE;
+
+    private static final int TILES = GameField.MAP_SIZE * GameField.MAP_SIZE;
 
     private Base base;
+    private final byte[] kinds = new byte[TILES];
+    /**
+     * Quarters of the brick walls that are still standing, zero for other kinds
+     */
+    private final byte[] bricks = new byte[TILES];
+    private IntConsumer clearedTileListener;
 
     public Base getBase() {
         return base;
     }
 
     /**
-     * Private constructor that generates map from the 2D array
+     * Generate the map from the tile kinds
+     *
+     * @param kinds kinds of the tiles, row by row. Use reference in a class description. The array is copied
+     */
+    public Map(byte[] kinds) {
+        for (int index = 0; index < TILES; index++) {
+            this.kinds[index] = kinds[index];
+            if (kinds[index] == BRICK)
+                bricks[index] = WHOLE_BRICK;
+        }
+        base = new Base(12 * GameField.BYTE, 24 * GameField.BYTE);
+    }
+
+    /**
+     * Get the kind of the tile at the grid position
+     *
+     * @param column column of the tile
+     * @param row    row of the tile
+     * @return one of the tile kinds, {@link #EMPTY} if there is nothing there
+     */
+    public byte getKind(int column, int row) {
+        return kinds[row * GameField.MAP_SIZE + column];
+    }
+
+    /**
+     * Get the standing quarters of the brick wall at the grid position
      *
-     * @param map 2d Array. Use reference in a class description.
+     * @param column column of the tile
+     * @param row    row of the tile
+     * @return bit mask of the quarters, see {@link #WHOLE_BRICK}
      */
-    private Map(int[][] map) {
-        for (int i = 0; i < GameField.MAP_SIZE; i++) {
-            for (int j = 0; j < GameField.MAP_SIZE; j++) {
-                switch (map[j][i]) {
-                    case 1:
-                        add(new BrickWall(i * GameField.BYTE, j * GameField.BYTE));
-                        break;
-                    case 2:
-                        add(new SteelWall(i * GameField.BYTE, j * GameField.BYTE));
-                        break;
-                    case 3:
-                        add(new Water(i * GameField.BYTE, j * GameField.BYTE));
-                        break;
-                    case 4:
-                        add(new Cover(i * GameField.BYTE, j * GameField.BYTE));
-                        break;
+    public byte getBricks(int column, int row) {
+        return bricks[row * GameField.MAP_SIZE + column];
+    }
+
+    /**
+     * Check if there is any collidable tile or the base in the rectangle. Water, steel and standing brick quarters
+     * are collidable
+     *
+     * @return true if rectangle intersects with a collidable object
+     */
+    public boolean collides(int x, int y, int width, int height) {
+        int firstColumn = toCell(x), lastColumn = toCell(x + width - 1);
+        int firstRow = toCell(y), lastRow = toCell(y + height - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int index = row * GameField.MAP_SIZE + firstColumn;
+            for (int column = firstColumn; column <= lastColumn; column++, index++) {
+                byte kind = kinds[index];
+                if (kind == EMPTY || kind == COVER)
+                    continue;
+                if (kind == BRICK) {
+                    if (quarters(column, row, x, y, width, height, bricks[index]) != 0)
+                        return true;
+                } else if (intersects(column * GameField.BYTE, row * GameField.BYTE, GameField.BYTE, x, y, width, height)) {
+                    return true;
                 }
             }
         }
-        base = new Base(12 * GameField.BYTE, 24 * GameField.BYTE);
-        add(base);
+        return base.intersects(x, y, width, height);
     }
 
+    /**
+     * Destroy what a bullet flying in the direction hits in the rectangle: the base and brick walls. A bullet that
+     * hits bricks blasts the tiles it touches through, as wide as a tank and centred on the bullet, so a tank can
+     * drive through the hole it has shot. Steel walls are hit but stay
+     *
+     * @return true if at least one object was hit
+     */
+    public boolean destroyIntersecting(int x, int y, int width, int height, Direction direction) {
+        boolean hit = false;
+        boolean bricksHit = false;
+        int firstColumn = toCell(x), lastColumn = toCell(x + width - 1);
+        int firstRow = toCell(y), lastRow = toCell(y + height - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int index = row * GameField.MAP_SIZE + firstColumn;
+            for (int column = firstColumn; column <= lastColumn; column++, index++) {
+                byte kind = kinds[index];
+                if (kind == BRICK) {
+                    bricksHit |= quarters(column, row, x, y, width, height, bricks[index]) != 0;
+                } else if (kind == STEEL
+                        && intersects(column * GameField.BYTE, row * GameField.BYTE, GameField.BYTE, x, y, width, height)) {
+                    hit = true;
+                }
+            }
+        }
+        if (bricksHit) {
+            //Whole tiles along the flight, tank wide across it
+            if (direction == Direction.WEST || direction == Direction.EAST) {
+                int blastY = y + height / 2 - BLAST_WIDTH / 2;
+                destroyBricks(firstColumn * GameField.BYTE, blastY,
+                        (lastColumn - firstColumn + 1) * GameField.BYTE, BLAST_WIDTH);
+            } else {
+                int blastX = x + width / 2 - BLAST_WIDTH / 2;
+                destroyBricks(blastX, firstRow * GameField.BYTE,
+                        BLAST_WIDTH, (lastRow - firstRow + 1) * GameField.BYTE);
+            }
+            hit = true;
+        }
+        if (base.intersects(x, y, width, height)) {
+            base.destroy();
+            hit = true;
+        }
+        return hit;
+    }
 
     /**
-     * Pre-made levels that match enums
+     * Destroy the quarters of brick walls in the rectangle
+     */
+    private void destroyBricks(int x, int y, int width, int height) {
+        int firstColumn = toCell(x), lastColumn = toCell(x + width - 1);
+        int firstRow = toCell(y), lastRow = toCell(y + height - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int index = row * GameField.MAP_SIZE + firstColumn;
+            for (int column = firstColumn; column <= lastColumn; column++, index++) {
+                if (kinds[index] != BRICK)
+                    continue;
+                int hitQuarters = quarters(column, row, x, y, width, height, bricks[index]);
+                if (hitQuarters == 0)
+                    continue;
+                bricks[index] &= ~hitQuarters;
+                if (bricks[index] == 0) {
+                    kinds[index] = EMPTY;
+                    if (clearedTileListener != null)
+                        clearedTileListener.accept(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Standing quarters of a brick wall that intersect the rectangle
+     *
+     * @return bit mask of the quarters
+     */
+    private static int quarters(int column, int row, int x, int y, int width, int height, byte standing) {
+        int result = 0;
+        for (int quarter = 0; quarter < 4; quarter++) {
+            if ((standing & (1 << quarter)) == 0)
+                continue;
+            int qx = column * GameField.BYTE + (quarter & 1) * QUARTER;
+            int qy = row * GameField.BYTE + (quarter >> 1) * QUARTER;
+            if (intersects(qx, qy, QUARTER, x, y, width, height))
+                result |= 1 << quarter;
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link java.awt.Rectangle#intersects} for a square and a rectangle
+     */
+    private static boolean intersects(int squareX, int squareY, int size, int x, int y, int width, int height) {
+        return width > 0 && height > 0
+                && x < squareX + size && squareX < x + width
+                && y < squareY + size && squareY < y + height;
+    }
+
+    /**
+     * Set the listener that is told the index (row * MAP_SIZE + column) of every brick tile that is completely
+     * destroyed. It is called from {@link #destroyIntersecting}
+     */
+    public void setClearedTileListener(IntConsumer clearedTileListener) {
+        this.clearedTileListener = clearedTileListener;
+    }
+
+    /**
+     * Hash of the tiles and the brick quarters
+     */
+    public int checksum() {
+        return 31 * Arrays.hashCode(kinds) + Arrays.hashCode(bricks);
+    }
+
+    /**
+     * Copy kinds of the tiles and standing brick quarters
+     *
+     * @param kinds  array of MAP_SIZE * MAP_SIZE length the kinds are copied to
+     * @param bricks array of MAP_SIZE * MAP_SIZE length the brick quarters are copied to
+     */
+    public void copyTiles(byte[] kinds, byte[] bricks) {
+        System.arraycopy(this.kinds, 0, kinds, 0, TILES);
+        System.arraycopy(this.bricks, 0, bricks, 0, TILES);
+    }
+
+    /**
+     * Grid cell of the coordinate, clamped to the map
+     *
+     * @param coordinate coordinate in pixels
+     * @return column or row number
+     */
+    private static int toCell(int coordinate) {
+        int cell = Math.floorDiv(coordinate, GameField.BYTE);
+        return Math.max(0, Math.min(GameField.MAP_SIZE - 1, cell));
+    }
+
+    /**
+     * Map of the level from the level pack, levels are in the pack in the order of the enum
      *
      * @param level number of level we want to make
      * @return made Map for a level
      */
     public static Map getLevelMap(Level level) {
-        int[][] map = null;
-        switch (level) {
-            case FIRST:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 2, 2, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 2, 2, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1},
-                                        {2, 2, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 2, 2},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                };
-                break;
-            case SECOND:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 2, 2, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 2, 2, 1, 1, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0},
-                                        {4, 4, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 1, 1, 4, 4, 1, 1, 2, 2},
-                                        {4, 4, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 1, 1, 4, 4, 1, 1, 2, 2},
-                                        {4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 2, 2, 0, 0, 4, 4, 0, 0, 0, 0},
-                                        {4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 2, 2, 0, 0, 4, 4, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 1, 1, 1, 1, 4, 4, 4, 4, 4, 4, 2, 2, 0, 0, 0, 0, 4, 4, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 1, 1, 1, 1, 4, 4, 4, 4, 4, 4, 2, 2, 0, 0, 0, 0, 4, 4, 1, 1, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {2, 2, 1, 1, 0, 0, 2, 2, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0},
-                                        {2, 2, 1, 1, 0, 0, 2, 2, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 2, 2, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 2, 2, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0},
-                                };
-                break;
-            case THIRD:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 4, 4, 4, 4, 4, 4, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 4, 4, 4, 4, 4, 4, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 2, 2},
-                                        {1, 1, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {1, 1, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 0},
-                                        {4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 0},
-                                        {4, 4, 4, 4, 4, 4, 4, 4, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 0, 0},
-                                        {4, 4, 4, 4, 4, 4, 4, 4, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 1, 1, 0, 0, 0, 1, 0, 0},
-                                        {4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0},
-                                        {4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0},
-                                        {0, 0, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 4, 4, 0, 0},
-                                        {0, 0, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 4, 4, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 4, 4},
-                                        {0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 4, 4},
-                                        {1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 4, 4, 4, 4, 4, 4, 4, 4},
-                                        {1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 4, 4},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 4, 4},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 4, 4, 4, 4, 4, 4, 4, 4},
-                                        {1, 1, 0, 0, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 4, 4, 4, 4, 4, 4, 0, 0},
-                                        {1, 1, 0, 0, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 0, 0},
-                                        {1, 1, 1, 1, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 0, 0},
-                                        {1, 1, 1, 1, 0, 0, 2, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 4, 4, 4, 4, 4, 4, 0, 0},
-                                        {2, 2, 1, 1, 1, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0},
-                                        {2, 2, 1, 1, 1, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0},
-                                };
-                break;
-            case FOURTH:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 0, 0},
-                                        {0, 0, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 0, 0},
-                                        {4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4},
-                                        {4, 4, 4, 4, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 4, 4},
-                                        {4, 4, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 2, 2},
-                                        {4, 4, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0},
-                                        {2, 2, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 1, 0, 0, 0},
-                                        {3, 3, 0, 0, 0, 1, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0},
-                                        {3, 3, 0, 0, 0, 1, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 0, 0, 0, 3, 3, 3, 3},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 1, 1, 1, 0, 0, 0, 3, 3, 3, 3},
-                                        {0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 4, 4},
-                                        {0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 4, 4},
-                                        {4, 4, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 4, 4, 4, 4},
-                                        {4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4},
-                                        {2, 2, 4, 4, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 4, 4, 4, 4, 2, 2},
-                                        {2, 2, 4, 4, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 4, 4, 4, 4, 2, 2},
-                                };
-                break;
-            case FIFTH:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0},
-                                        {2, 2, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0},
-                                        {2, 2, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {2, 2, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 3, 3, 3, 3, 0, 0, 3, 3},
-                                        {1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 3, 3, 3, 3, 0, 0, 3, 3},
-                                        {1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 3, 3, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 3, 3, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 3, 3, 3, 3, 0, 0, 3, 3, 3, 3, 3, 3, 0, 0, 1, 1, 1, 1},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 3, 3, 3, 3, 0, 0, 3, 3, 3, 3, 3, 3, 0, 0, 1, 1, 1, 1},
-                                        {1, 1, 1, 1, 0, 0, 0, 0, 3, 3, 1, 1, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {1, 1, 1, 1, 0, 0, 0, 0, 3, 3, 1, 1, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 3, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 3, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0},
-                                        {3, 3, 3, 3, 3, 3, 0, 0, 3, 3, 0, 0, 2, 2, 0, 0, 1, 1, 0, 0, 0, 2, 0, 0, 0, 0},
-                                        {3, 3, 3, 3, 3, 3, 0, 0, 3, 3, 0, 0, 2, 2, 0, 0, 1, 1, 0, 0, 0, 2, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 1, 1, 1, 1},
-                                        {0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 1, 1, 1, 1},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0},
-                                        {1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0},
-                                        {1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0},
-                                        {1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                };
-                break;
-            case SIXTH:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 0, 0, 2, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 4, 4, 1, 0, 0, 1, 4, 4},
-                                        {0, 0, 1, 0, 0, 2, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 4, 4, 1, 0, 0, 1, 4, 4},
-                                        {0, 0, 1, 0, 0, 2, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 4, 4, 1, 0, 0, 1, 4, 4},
-                                        {0, 0, 1, 0, 0, 2, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 4, 4, 1, 0, 0, 1, 4, 4},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 1, 1, 0, 0, 2, 2, 0, 0, 1, 1, 4, 4, 0, 0, 1, 1, 4, 4},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 1, 1, 0, 0, 2, 2, 0, 0, 1, 1, 4, 4, 0, 0, 1, 1, 4, 4},
-                                        {0, 0, 0, 0, 0, 0, 0, 1, 2, 2, 0, 0, 1, 1, 0, 0, 1, 1, 2, 0, 0, 0, 4, 4, 4, 4},
-                                        {0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 2, 0, 0, 0, 4, 4, 4, 4},
-                                        {1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 4, 4, 1, 1, 4, 4, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1},
-                                        {1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 4, 4, 1, 1, 4, 4, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 4, 4, 4, 4, 4, 4, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 4, 4, 4, 4, 4, 4, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {2, 2, 1, 1, 1, 1, 0, 0, 1, 1, 4, 4, 4, 4, 4, 4, 1, 1, 0, 1, 1, 1, 1, 1, 2, 2},
-                                        {2, 2, 1, 1, 1, 1, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 0, 0, 0, 1, 1, 1, 1, 1, 2, 2},
-                                        {2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 2, 2},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 4, 4, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 1, 1, 1, 4, 4},
-                                        {0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 4, 4},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 1, 4, 4, 4, 4},
-//
-
-                                };
-                break;
-            case SEVENTH:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 2, 2, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 4, 4, 0, 0, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0},
-                                        {0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 4, 4, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0},
-                                        {0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 4, 4, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0},
-                                        {0, 0, 2, 2, 0, 0, 4, 4, 2, 2, 2, 2, 2, 2, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 2, 2, 0, 0, 4, 4, 2, 2, 2, 2, 2, 2, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 2, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 2, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0},
-                                        {2, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 0, 2, 0, 0},
-                                        {2, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 0, 2, 0, 0},
-                                        {0, 0, 0, 2, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 4, 4, 0, 0, 0, 0, 2, 2, 0, 0},
-                                        {0, 0, 0, 2, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2, 4, 4, 0, 0, 0, 0, 2, 2, 0, 0},
-                                        {0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0},
-                                        {0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0},
-                                        {0, 0, 2, 2, 2, 2, 2, 2, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 2, 2},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 2, 2, 2, 2},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-
+        return getLevelMap(level.ordinal());
+    }
 
-                                };
-                break;
-            case EIGHTH:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0},
-                                        {4, 4, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0},
-                                        {4, 4, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 0, 0, 2, 2, 0, 0, 1, 1, 1, 0, 0, 0, 0, 0},
-                                        {4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 1, 0},
-                                        {4, 4, 4, 4, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0},
-                                        {4, 4, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 3, 3},
-                                        {4, 4, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 3, 3},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0},
-                                        {1, 1, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 1, 1, 1, 1, 4, 4, 1, 1, 0, 0, 0, 0, 1, 1},
-                                        {1, 1, 1, 1, 0, 0, 1, 1, 0, 0, 0, 1, 1, 1, 1, 1, 4, 4, 1, 1, 2, 2, 2, 2, 1, 1},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 2, 2, 0, 0, 4, 4, 4, 4, 4, 4, 4, 4, 0, 0, 0, 0},
-                                        {3, 3, 3, 3, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3},
-                                        {3, 3, 3, 3, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3},
-                                        {4, 4, 4, 4, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {4, 4, 4, 4, 0, 0, 0, 1, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {4, 4, 4, 4, 1, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0},
-                                        {4, 4, 4, 4, 1, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 1, 0, 0, 2, 2, 1, 1, 1, 1, 0, 0},
-                                        {4, 4, 0, 0, 1, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 1, 1, 0, 0},
-                                        {4, 4, 2, 2, 1, 1, 0, 0, 1, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 1, 1, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0},
-                                };
-                break;
-            case NINTH:
-                map =
-                        new int[][]
-                                {
-                                        {0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 0, 0, 0, 0},
-                                        {1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 0, 2, 2, 2, 2, 0, 0, 0, 1, 1},
-                                        {1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 0, 2, 2, 2, 2, 0, 0, 0, 1, 1},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 0, 2, 2, 2, 2, 0, 0, 0, 2, 2, 4, 4, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 2, 2, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 2, 2, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 4, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 4, 4, 2, 2, 4, 4, 0, 0, 4, 4, 2, 2, 4, 4, 0, 0, 0, 0, 0, 0},
-                                        {2, 2, 1, 1, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 1, 1, 2, 2},
-                                        {2, 2, 1, 1, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 1, 1, 2, 2},
-                                        {0, 0, 0, 0, 0, 0, 4, 4, 2, 2, 4, 4, 0, 0, 4, 4, 2, 2, 4, 4, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {1, 1, 0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 1, 1},
-                                        {1, 1, 0, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 2, 2, 2, 2, 0, 0, 0, 0, 0, 1, 1},
-                                        {1, 1, 0, 0, 0, 0, 4, 4, 2, 2, 4, 4, 0, 0, 4, 4, 2, 2, 4, 4, 0, 0, 0, 0, 1, 1},
-                                        {1, 1, 0, 0, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 4, 4, 0, 0, 0, 0, 1, 1},
-                                        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0, 0, 1, 1, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0},
-                                        {0, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 1, 1, 1, 1, 0, 0, 0, 0},
-                                };
-                break;
-            case TENTH:
-                map =
-                        new int[][]
-                                {
-                                        {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                                        {0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0},
-                                        //2
-                                        {0,0,0,1,1,1,1,1,0,0,0,0,0,0,0,0,0,0,0,0,1,1,1,1,1,0},
-                                        {0,0,0,1,0,0,1,1,0,0,0,0,0,0,0,0,0,0,0,0,1,1,0,0,1,0},
-                                        //3
-                                        {0,1,1,1,0,0,0,0,1,1,0,0,4,4,4,4,0,0,1,1,0,0,0,0,0,1},
-                                        {0,1,0,0,0,0,0,0,1,1,0,0,4,4,4,4,0,0,1,1,0,0,0,0,0,1},
-                                        //4
-                                        {1,1,0,0,0,0,0,0,1,1,4,4,4,4,4,4,4,4,1,1,0,0,0,0,0,1},
-                                        {1,1,0,0,0,0,0,0,1,1,4,4,4,4,4,4,4,4,1,1,0,0,0,0,0,1},
-                                        //5
-                                        {1,1,0,0,0,0,0,1,1,1,4,4,2,2,2,2,4,4,1,1,1,0,0,0,1,1},
-                                        {1,1,0,0,0,0,0,1,1,1,4,4,2,2,2,2,4,4,1,1,1,0,0,0,1,1},
-                                        //6
-                                        {0,1,0,0,0,0,1,1,3,3,3,3,3,3,3,3,3,3,3,3,1,1,1,1,1,1},
-                                        {0,1,1,1,1,1,1,1,3,3,3,3,3,3,3,3,3,3,3,3,1,1,1,1,1,1},
-                                        //7
-                                        {0,0,1,1,1,1,1,1,2,2,2,2,1,1,2,2,2,2,1,1,1,1,1,1,1,0},
-                                        {0,0,1,1,1,1,1,1,2,2,2,2,1,1,2,2,2,2,1,1,1,1,1,1,1,0},
-                                        //8
-                                        {0,0,0,0,1,1,1,1,2,2,0,0,1,1,0,0,2,2,1,1,1,1,1,0,0,0},
-                                        {0,0,0,0,1,1,1,1,2,2,0,0,1,1,0,0,2,2,1,1,1,1,1,0,0,0},
-                                        //9
-                                        {0,0,0,0,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,0,0,0},
-                                        {0,0,0,0,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,0,0,0},
-                                        //10
-                                        {1,1,4,4,1,1,1,1,1,1,2,2,2,2,1,1,1,1,1,1,1,1,4,4,1,1},
-                                        {1,1,4,4,0,0,0,0,0,0,2,2,2,2,0,0,0,0,0,0,0,0,4,4,1,1},
-                                        //11
-                                        {1,1,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,1,1},
-                                        {1,1,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,1,1},
-                                        //12
-                                        {0,0,0,0,4,4,4,4,4,4,0,0,0,0,0,0,4,4,4,4,4,4,4,4,0,0},
-                                        {0,0,0,0,4,4,4,4,4,4,0,1,1,1,1,0,4,4,4,4,4,4,4,4,0,0},
-                                        //13
-                                        {0,0,0,0,0,0,1,0,0,0,0,1,0,0,1,0,0,0,0,0,1,0,0,0,0,0},
-                                        {0,0,0,0,0,0,1,0,0,0,0,1,0,0,1,0,0,0,0,0,1,0,0,0,0,0},
-                                };
-                break;
-        }
-        return new Map(map);
+    /**
+     * Map of any level from the level pack, see {@link LevelCache#getShared()}
+     *
+     * @param index index of the level in the pack, from 0
+     * @return made Map for a level
+     */
+    public static Map getLevelMap(int index) {
+        return new Map(LevelCache.getShared().get(index));
     }
 }
@@ -0,0 +1,69 @@
+package network;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the values written by a {@link BitWriter} from the remaining bytes of a buffer
+ */
+public final class BitReader {
+
+	/**
+	 * Bits in one group of a variable length value
+	 */
+	static final int GROUP = 4;
+
+	private ByteBuffer buffer;
+	private int start;
+	private int bits;
+	private int length;
+
+	/**
+	 * Read from the current position of the buffer to its limit
+	 */
+	public void reset(ByteBuffer buffer) {
+		this.buffer = buffer;
+		start = buffer.position();
+		length = (buffer.limit() - start) * 8;
+		bits = 0;
+	}
+
+	/**
+	 * @param count number of bits, up to 32
+	 * @return value of the bits
+	 * @throws IllegalArgumentException if the packet ends earlier
+	 */
+	public int read(int count) {
+		if (bits + count > length)
+			throw new IllegalArgumentException("Packet is truncated");
+		int value = 0;
+		for (int i = 0; i < count; i++) {
+			int bit = buffer.get(start + (bits >> 3)) >>> (7 - (bits & 7)) & 1;
+			value = value << 1 | bit;
+			bits++;
+		}
+		return value;
+	}
+
+	public boolean readBoolean() {
+		return read(1) != 0;
+	}
+
+	public int readVar() {
+		int value = 0;
+		int shift = 0;
+		boolean more;
+		do {
+			if (shift >= 32)
+				throw new IllegalArgumentException("Variable length value is too long");
+			more = readBoolean();
+			value |= read(GROUP) << shift;
+			shift += GROUP;
+		} while (more);
+		return value;
+	}
+
+	public int readSigned() {
+		int value = readVar();
+		return value >>> 1 ^ -(value & 1);
+	}
+}
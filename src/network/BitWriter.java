@@ -0,0 +1,75 @@
+package network;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes values of any number of bits one after another, the most significant bit first. Reused for every packet
+ */
+public final class BitWriter {
+
+	private byte[] bytes;
+	private int bits;
+
+	public BitWriter(int capacity) {
+		bytes = new byte[capacity];
+	}
+
+	public void reset() {
+		Arrays.fill(bytes, 0, byteLength(), (byte) 0);
+		bits = 0;
+	}
+
+	/**
+	 * Write the lowest bits of the value
+	 *
+	 * @param count number of bits, up to 32
+	 */
+	public void write(int value, int count) {
+		if ((bits + count + 7) / 8 > bytes.length)
+			bytes = Arrays.copyOf(bytes, bytes.length * 2);
+		for (int i = count - 1; i >= 0; i--) {
+			if ((value >>> i & 1) != 0)
+				bytes[bits >> 3] |= 0x80 >>> (bits & 7);
+			bits++;
+		}
+	}
+
+	public void writeBoolean(boolean value) {
+		write(value ? 1 : 0, 1);
+	}
+
+	/**
+	 * Write a non-negative value in groups of {@link BitReader#GROUP} bits, every group is preceded by a bit that tells
+	 * if another group follows. Small values take few bits
+	 */
+	public void writeVar(int value) {
+		do {
+			int group = value & (1 << BitReader.GROUP) - 1;
+			value >>>= BitReader.GROUP;
+			writeBoolean(value != 0);
+			write(group, BitReader.GROUP);
+		} while (value != 0);
+	}
+
+	/**
+	 * Same as {@link #writeVar(int)}, but small negative values take few bits too
+	 */
+	public void writeSigned(int value) {
+		writeVar(value << 1 ^ value >> 31);
+	}
+
+	/**
+	 * @return number of bytes the written bits take
+	 */
+	public int byteLength() {
+		return (bits + 7) / 8;
+	}
+
+	/**
+	 * Put the written bytes into the buffer
+	 */
+	public void copyTo(ByteBuffer buffer) {
+		buffer.put(bytes, 0, byteLength());
+	}
+}
@@ -0,0 +1,183 @@
+package network;
+
+import game_engine.GameEvent;
+import map_tools.LevelCache;
+
+import java.util.Arrays;
+
+import static game_content.GameField.MAP_SIZE;
+
+/**
+ * What the host sends to the client every tick: the visible sprites with their numbers in the
+ * {@link resources_classes.SpriteAtlas}, the tiles, the players and the events of the tick. States are reused and
+ * copied into each other, so keeping a history of them doesn't allocate.
+ * <p>
+ * Every sprite has an id that stays the same while the object is in the world, so a state can be sent as the
+ * difference from an older one, see {@link StateCodec}.
+ */
+public final class NetState {
+
+	/**
+	 * Maximum number of sprites in one state
+	 */
+	public static final int MAX_SPRITES = 255;
+	static final int TILES = MAP_SIZE * MAP_SIZE;
+	static final int PLAYERS = 2;
+
+	public static final int TIME_STOPPED = 1;
+	public static final int BASE_DEFEATED = 1 << 1;
+	public static final int OVER = 1 << 2;
+	static final int FLAG_BITS = 3;
+
+	long tick;
+	int level;
+	int flags;
+	/**
+	 * Respawns of the players, -1 if there are none
+	 */
+	final int[] respawns = new int[PLAYERS];
+	/**
+	 * Sequence number of the next input of the client the host expects
+	 */
+	int nextInput;
+
+	int size;
+	int coverIndex;
+	final int[] ids = new int[MAX_SPRITES];
+	final int[] sprites = new int[MAX_SPRITES];
+	final int[] xs = new int[MAX_SPRITES];
+	final int[] ys = new int[MAX_SPRITES];
+
+	final byte[] kinds = new byte[TILES];
+	final byte[] bricks = new byte[TILES];
+
+	/**
+	 * Events with the ticks they happened on. They are sent as they are and not as a difference, the host sends all
+	 * the events since the baseline, so the client gets them even if some states were lost
+	 */
+	int eventCount;
+	long[] eventTicks = new long[16];
+	GameEvent[] eventTypes = new GameEvent[16];
+	int[] eventValues = new int[16];
+
+	/**
+	 * Make this the state before the first tick of the level: no sprites and the tiles of the level pack
+	 */
+	void resetToLevel(int level) {
+		tick = 0;
+		this.level = level;
+		flags = 0;
+		Arrays.fill(respawns, 0);
+		nextInput = 0;
+		size = 0;
+		coverIndex = 0;
+		eventCount = 0;
+		byte[] levelKinds = LevelCache.getShared().get(level);
+		for (int i = 0; i < TILES; i++) {
+			kinds[i] = levelKinds[i];
+			bricks[i] = kinds[i] == map_tools.Map.BRICK ? map_tools.Map.WHOLE_BRICK : 0;
+		}
+	}
+
+	void clearSprites() {
+		size = 0;
+		coverIndex = 0;
+		eventCount = 0;
+	}
+
+	/**
+	 * @return false if there is no room for the sprite
+	 */
+	boolean addSprite(int id, int sprite, int x, int y) {
+		if (size == MAX_SPRITES)
+			return false;
+		ids[size] = id;
+		sprites[size] = sprite;
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+		return true;
+	}
+
+	void addEvent(long tick, GameEvent type, int value) {
+		if (eventCount == eventTypes.length) {
+			eventTicks = Arrays.copyOf(eventTicks, eventCount * 2);
+			eventTypes = Arrays.copyOf(eventTypes, eventCount * 2);
+			eventValues = Arrays.copyOf(eventValues, eventCount * 2);
+		}
+		eventTicks[eventCount] = tick;
+		eventTypes[eventCount] = type;
+		eventValues[eventCount] = value;
+		eventCount++;
+	}
+
+	/**
+	 * @return index of the sprite with the id or -1
+	 */
+	int indexOf(int id, int hint) {
+		if (hint >= 0 && hint < size && ids[hint] == id)
+			return hint;
+		for (int i = 0; i < size; i++)
+			if (ids[i] == id)
+				return i;
+		return -1;
+	}
+
+	void copyFrom(NetState other) {
+		tick = other.tick;
+		level = other.level;
+		flags = other.flags;
+		System.arraycopy(other.respawns, 0, respawns, 0, PLAYERS);
+		nextInput = other.nextInput;
+		size = other.size;
+		coverIndex = other.coverIndex;
+		System.arraycopy(other.ids, 0, ids, 0, size);
+		System.arraycopy(other.sprites, 0, sprites, 0, size);
+		System.arraycopy(other.xs, 0, xs, 0, size);
+		System.arraycopy(other.ys, 0, ys, 0, size);
+		System.arraycopy(other.kinds, 0, kinds, 0, TILES);
+		System.arraycopy(other.bricks, 0, bricks, 0, TILES);
+		eventCount = 0;
+		for (int i = 0; i < other.eventCount; i++)
+			addEvent(other.eventTicks[i], other.eventTypes[i], other.eventValues[i]);
+	}
+
+	/**
+	 * Hash of everything but the events, the host sends it with every state so the client can detect a broken delta
+	 */
+	public int checksum() {
+		int hash = Long.hashCode(tick);
+		hash = 31 * hash + level;
+		hash = 31 * hash + flags;
+		hash = 31 * hash + Arrays.hashCode(respawns);
+		hash = 31 * hash + coverIndex;
+		for (int i = 0; i < size; i++)
+			hash = 31 * (31 * (31 * (31 * hash + ids[i]) + sprites[i]) + xs[i]) + ys[i];
+		hash = 31 * hash + Arrays.hashCode(kinds);
+		return 31 * hash + Arrays.hashCode(bricks);
+	}
+
+	public long getTick() {
+		return tick;
+	}
+
+	public int getLevel() {
+		return level;
+	}
+
+	public boolean hasFlag(int flag) {
+		return (flags & flag) != 0;
+	}
+
+	/**
+	 * @param player index of the player
+	 * @return respawns left, -1 if there are none
+	 */
+	public int getRespawns(int player) {
+		return respawns[player];
+	}
+
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,45 @@
+package network;
+
+/**
+ * Packets of a versus game. The host runs the world and sends a {@link #STATE} every tick, the client sends a
+ * {@link #HELLO} until the first state comes and then an {@link #INPUT} every tick.
+ * <p>
+ * STATE: type, level, tick (int), baseline tick (int), checksum of the state (int), then the state written by
+ * {@link StateCodec} as the difference from the baseline. Baseline 0 is the start of the level.
+ * <p>
+ * INPUT: type, latest state tick the client has (int), sequence number of the first input (int), count of inputs,
+ * ordinals of the inputs. The client repeats its inputs until a state shows the host has applied them, so nothing
+ * has to be sent again on request.
+ */
+final class Protocol {
+
+	static final byte VERSION = 1;
+
+	static final byte HELLO = 1;
+	static final byte STATE = 2;
+	static final byte INPUT = 3;
+
+	/**
+	 * Port the host listens on by default
+	 */
+	static final int DEFAULT_PORT = 27960;
+	/**
+	 * Largest datagram either side reads or writes
+	 */
+	static final int MAX_DATAGRAM = 65507;
+	/**
+	 * States each side keeps as baselines of the next ones
+	 */
+	static final int HISTORY = 64;
+	/**
+	 * Most inputs in one INPUT packet
+	 */
+	static final int MAX_INPUTS = 255;
+	/**
+	 * Game ends when nothing comes from the other side for so long
+	 */
+	static final long TIMEOUT_MILLIS = 5000;
+
+	private Protocol() {
+	}
+}
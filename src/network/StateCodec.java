@@ -0,0 +1,168 @@
+package network;
+
+import game_engine.GameEvent;
+
+/**
+ * Bit-packed difference between two {@link NetState}s. Both sides keep the baseline, so only what has changed is
+ * sent: sprites that didn't move take one bit, moved ones take the change of their coordinates, and only the tiles
+ * that differ are listed. Sprites that aren't in the baseline and the events of the tick are sent whole.
+ */
+public final class StateCodec {
+
+	private static final int SPRITE_BITS = 8;
+	private static final int COORDINATE_BITS = 11;
+	/**
+	 * Added to coordinates of new sprites, so sprites slightly out of the field are sent too
+	 */
+	private static final int COORDINATE_OFFSET = 512;
+	private static final int COUNT_BITS = 8;
+	private static final int KIND_BITS = 3;
+	private static final int BRICK_BITS = 4;
+	private static final int EVENT_BITS = 4;
+
+	private StateCodec() {
+	}
+
+	/**
+	 * Write the state as the difference from the baseline. The level isn't written, it is the level of the baseline
+	 */
+	public static void write(NetState state, NetState baseline, BitWriter out) {
+		out.write(state.flags, NetState.FLAG_BITS);
+		//Respawns have no limit, every health power-up adds one
+		for (int respawns : state.respawns)
+			out.writeVar(respawns + 1);
+		out.writeSigned(state.nextInput - baseline.nextInput);
+
+		out.write(state.size, COUNT_BITS);
+		out.write(state.coverIndex, COUNT_BITS);
+		int previousId = 0;
+		int hint = 0;
+		for (int i = 0; i < state.size; i++) {
+			int id = state.ids[i];
+			out.writeSigned(id - previousId);
+			previousId = id;
+			int b = baseline.indexOf(id, hint);
+			if (b < 0) {
+				out.write(state.sprites[i], SPRITE_BITS);
+				out.write(state.xs[i] + COORDINATE_OFFSET, COORDINATE_BITS);
+				out.write(state.ys[i] + COORDINATE_OFFSET, COORDINATE_BITS);
+				continue;
+			}
+			hint = b + 1;
+			boolean spriteChanged = state.sprites[i] != baseline.sprites[b];
+			int dx = state.xs[i] - baseline.xs[b];
+			int dy = state.ys[i] - baseline.ys[b];
+			out.writeBoolean(spriteChanged || dx != 0 || dy != 0);
+			if (!spriteChanged && dx == 0 && dy == 0)
+				continue;
+			out.writeBoolean(spriteChanged);
+			if (spriteChanged)
+				out.write(state.sprites[i], SPRITE_BITS);
+			writeChange(out, dx);
+			writeChange(out, dy);
+		}
+
+		int changed = 0;
+		for (int i = 0; i < NetState.TILES; i++)
+			if (tileChanged(state, baseline, i))
+				changed++;
+		out.writeVar(changed);
+		int previous = -1;
+		for (int i = 0; i < NetState.TILES; i++) {
+			if (tileChanged(state, baseline, i)) {
+				out.writeVar(i - previous - 1);
+				out.write(state.kinds[i], KIND_BITS);
+				out.write(state.bricks[i], BRICK_BITS);
+				previous = i;
+			}
+		}
+
+		out.writeVar(state.eventCount);
+		for (int i = 0; i < state.eventCount; i++) {
+			out.writeVar((int) (state.tick - state.eventTicks[i]));
+			out.write(state.eventTypes[i].ordinal(), EVENT_BITS);
+			out.writeSigned(state.eventValues[i]);
+		}
+	}
+
+	/**
+	 * Read the state written by {@link #write} with the same baseline
+	 *
+	 * @param tick tick of the state
+	 * @throws IllegalArgumentException if the packet is broken
+	 */
+	public static void read(BitReader in, NetState baseline, NetState state, long tick) {
+		state.tick = tick;
+		state.level = baseline.level;
+		state.flags = in.read(NetState.FLAG_BITS);
+		for (int p = 0; p < state.respawns.length; p++)
+			state.respawns[p] = in.readVar() - 1;
+		state.nextInput = baseline.nextInput + in.readSigned();
+
+		state.size = 0;
+		state.eventCount = 0;
+		int size = in.read(COUNT_BITS);
+		state.coverIndex = in.read(COUNT_BITS);
+		if (state.coverIndex > size)
+			throw new IllegalArgumentException("Cover index " + state.coverIndex + " of " + size);
+		int previousId = 0;
+		int hint = 0;
+		for (int i = 0; i < size; i++) {
+			int id = previousId + in.readSigned();
+			previousId = id;
+			int b = baseline.indexOf(id, hint);
+			if (b < 0) {
+				int sprite = in.read(SPRITE_BITS);
+				int x = in.read(COORDINATE_BITS) - COORDINATE_OFFSET;
+				int y = in.read(COORDINATE_BITS) - COORDINATE_OFFSET;
+				state.addSprite(id, sprite, x, y);
+				continue;
+			}
+			hint = b + 1;
+			int sprite = baseline.sprites[b], x = baseline.xs[b], y = baseline.ys[b];
+			if (in.readBoolean()) {
+				if (in.readBoolean())
+					sprite = in.read(SPRITE_BITS);
+				x += readChange(in);
+				y += readChange(in);
+			}
+			state.addSprite(id, sprite, x, y);
+		}
+
+		System.arraycopy(baseline.kinds, 0, state.kinds, 0, NetState.TILES);
+		System.arraycopy(baseline.bricks, 0, state.bricks, 0, NetState.TILES);
+		int changed = in.readVar();
+		int index = -1;
+		for (int i = 0; i < changed; i++) {
+			index += in.readVar() + 1;
+			if (index >= NetState.TILES)
+				throw new IllegalArgumentException("Tile " + index);
+			state.kinds[index] = (byte) in.read(KIND_BITS);
+			state.bricks[index] = (byte) in.read(BRICK_BITS);
+		}
+
+		int events = in.readVar();
+		GameEvent[] types = GameEvent.values();
+		for (int i = 0; i < events; i++) {
+			long eventTick = tick - in.readVar();
+			int type = in.read(EVENT_BITS);
+			if (type >= types.length)
+				throw new IllegalArgumentException("Event " + type);
+			state.addEvent(eventTick, types[type], in.readSigned());
+		}
+	}
+
+	private static boolean tileChanged(NetState state, NetState baseline, int i) {
+		return state.kinds[i] != baseline.kinds[i] || state.bricks[i] != baseline.bricks[i];
+	}
+
+	private static void writeChange(BitWriter out, int change) {
+		out.writeBoolean(change != 0);
+		if (change != 0)
+			out.writeSigned(change);
+	}
+
+	private static int readChange(BitReader in) {
+		return in.readBoolean() ? in.readSigned() : 0;
+	}
+}
@@ -0,0 +1,336 @@
+package network;
+
+import game_engine.EventBus;
+import game_engine.FrameProfiler;
+import game_engine.GameEvent;
+import game_engine.GameSession;
+import game_engine.PlayerInput;
+import game_engine.RenderSnapshot;
+import game_engine.SnapshotBuffer;
+import resources_classes.SpriteAtlas;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import static game_content.GameField.DELAY;
+
+/**
+ * Client of a versus game, plays the second player. Doesn't run a world of its own: it shows the latest state the
+ * host has sent, publishes the events that came with it and sends the inputs of the player to the host.
+ * <p>
+ * Usage without a display: {@code VersusClient host:port [seconds]}, the player moves at random.
+ */
+public class VersusClient implements GameSession {
+
+	/**
+	 * System property with host:port of the versus game the game window joins
+	 */
+	public static final String JOIN_PROPERTY = "tankwar.join";
+	/**
+	 * Index of the player of the client
+	 */
+	private static final int PLAYER = 1;
+
+	private final DatagramChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(Protocol.MAX_DATAGRAM);
+	private final BitReader bits = new BitReader();
+	private final NetState levelStart = new NetState();
+	private final NetState[] history = new NetState[Protocol.HISTORY];
+	/**
+	 * Latest state received and the one shown last, null before the first state
+	 */
+	private NetState latest;
+	private NetState shown;
+	/**
+	 * State tick the host is told the client has, 0 to get the whole state
+	 */
+	private int ack;
+	private long lastEventTick;
+	private int respawns = Integer.MIN_VALUE;
+
+	private final Queue<PlayerInput> inputs = new ConcurrentLinkedQueue<>();
+	/**
+	 * Inputs the host hasn't applied yet, the first one has the sequence number {@link #firstUnacked}
+	 */
+	private final ArrayDeque<PlayerInput> unacked = new ArrayDeque<>();
+	private int firstUnacked;
+
+	private final SnapshotBuffer snapshots = new SnapshotBuffer();
+	private final EventBus events = new EventBus();
+	private final FrameProfiler profiler = new FrameProfiler();
+	private long lastHeard = System.currentTimeMillis();
+	private boolean over;
+
+	private long statesReceived;
+	private long bytesReceived;
+	private long statesLost;
+	private long mismatches;
+
+	/**
+	 * @param host address of the host
+	 * @throws IOException if the socket can't be opened
+	 */
+	public VersusClient(InetSocketAddress host) throws IOException {
+		for (int i = 0; i < history.length; i++)
+			history[i] = new NetState();
+		//No level yet, the first state tells which one
+		levelStart.level = -1;
+		channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.connect(host);
+	}
+
+	/**
+	 * @param address host:port, the default port if there is no port
+	 */
+	public static InetSocketAddress parseAddress(String address) {
+		int colon = address.lastIndexOf(':');
+		if (colon < 0)
+			return new InetSocketAddress(address, Protocol.DEFAULT_PORT);
+		return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+	}
+
+	@Override
+	public void tick() {
+		if (over)
+			return;
+		long time = profiler.beginTick();
+		PlayerInput input;
+		while ((input = inputs.poll()) != null) {
+			if (unacked.size() < Protocol.MAX_INPUTS)
+				unacked.add(input);
+		}
+		receive();
+		send();
+		if (latest != null && latest != shown)
+			show(latest);
+		boolean silent = System.currentTimeMillis() - lastHeard > Protocol.TIMEOUT_MILLIS;
+		if (silent) {
+			System.out.println(latest == null ? "Host doesn't answer" : "Host has left");
+			events.publish(GameEvent.GAME_LOST);
+		}
+		if (silent || latest != null && latest.hasFlag(NetState.OVER))
+			over = true;
+		profiler.phase(FrameProfiler.Phase.TIMERS, time);
+		events.dispatch();
+		profiler.endTick(latest == null ? 0 : latest.tick);
+	}
+
+	private void receive() {
+		try {
+			buffer.clear();
+			int length;
+			while ((length = channel.read(buffer)) > 0) {
+				buffer.flip();
+				try {
+					handle(length);
+				} catch (BufferUnderflowException | IllegalArgumentException e) {
+					//Broken packet, the next one will do
+				}
+				buffer.clear();
+			}
+		} catch (PortUnreachableException e) {
+			//Host isn't up yet
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void handle(int length) {
+		if (buffer.get() != Protocol.STATE)
+			return;
+		int level = buffer.get() & 0xFF;
+		int tick = buffer.getInt();
+		int baselineTick = buffer.getInt();
+		int checksum = buffer.getInt();
+		//Older than what we have or a copy of it
+		if (latest != null && tick <= latest.tick || tick <= 0)
+			return;
+		NetState baseline;
+		if (baselineTick == 0) {
+			if (levelStart.level != level)
+				levelStart.resetToLevel(level);
+			baseline = levelStart;
+		} else {
+			baseline = history[baselineTick % Protocol.HISTORY];
+			if (baseline.tick != baselineTick || baselineTick <= 0)
+				return;
+		}
+		NetState state = history[tick % Protocol.HISTORY];
+		if (state == baseline)
+			return;
+		bits.reset(buffer);
+		StateCodec.read(bits, baseline, state, tick);
+		if (state.checksum() != checksum) {
+			//The delta went wrong, ask for the whole state
+			state.tick = -1;
+			ack = 0;
+			mismatches++;
+			return;
+		}
+		if (latest != null)
+			statesLost += tick - latest.tick - 1;
+		latest = state;
+		ack = tick;
+		lastHeard = System.currentTimeMillis();
+		statesReceived++;
+		bytesReceived += length;
+
+		for (int i = 0; i < state.eventCount; i++)
+			if (state.eventTicks[i] > lastEventTick)
+				events.publish(state.eventTypes[i], state.eventValues[i]);
+		lastEventTick = tick;
+		if (state.respawns[PLAYER] != respawns) {
+			respawns = state.respawns[PLAYER];
+			events.publish(GameEvent.RESPAWNS_CHANGED, respawns);
+		}
+		while (!unacked.isEmpty() && firstUnacked < state.nextInput) {
+			unacked.poll();
+			firstUnacked++;
+		}
+	}
+
+	/**
+	 * Say hello until the host answers, then send the inputs it hasn't applied yet and the latest state we have
+	 */
+	private void send() {
+		buffer.clear();
+		if (latest == null) {
+			buffer.put(Protocol.HELLO);
+			buffer.put(Protocol.VERSION);
+		} else {
+			buffer.put(Protocol.INPUT);
+			buffer.putInt(ack);
+			buffer.putInt(firstUnacked);
+			buffer.put((byte) unacked.size());
+			for (PlayerInput input : unacked)
+				buffer.put((byte) input.ordinal());
+		}
+		buffer.flip();
+		try {
+			channel.write(buffer);
+		} catch (PortUnreachableException e) {
+			//Host isn't up yet
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Fill a snapshot from the state, the sprites start the tick where they were in the state shown before
+	 */
+	private void show(NetState state) {
+		RenderSnapshot snapshot = snapshots.getBack();
+		snapshot.clear(state.tick);
+		int hint = 0;
+		for (int i = 0; i < state.size; i++) {
+			if (i == state.coverIndex)
+				snapshot.startCover();
+			BufferedImage image = SpriteAtlas.byId(state.sprites[i]);
+			if (image == null)
+				continue;
+			int previous = shown == null ? -1 : shown.indexOf(state.ids[i], hint);
+			int x = state.xs[i], y = state.ys[i];
+			if (previous >= 0) {
+				hint = previous + 1;
+				snapshot.add(image, x, y, image.getWidth(), image.getHeight(), shown.xs[previous], shown.ys[previous]);
+			} else {
+				snapshot.add(image, x, y, image.getWidth(), image.getHeight(), x, y);
+			}
+		}
+		if (state.coverIndex >= state.size)
+			snapshot.startCover();
+		snapshot.copyTiles(state.kinds, state.bricks);
+		snapshots.publish();
+		shown = state;
+	}
+
+	@Override
+	public void input(PlayerInput input) {
+		inputs.add(input);
+	}
+
+	@Override
+	public SnapshotBuffer getSnapshots() {
+		return snapshots;
+	}
+
+	@Override
+	public EventBus getEvents() {
+		return events;
+	}
+
+	@Override
+	public FrameProfiler getProfiler() {
+		return profiler;
+	}
+
+	@Override
+	public void close() {
+		profiler.stopCsv();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return true if the game has ended or the host has left
+	 */
+	@Override
+	public boolean isOver() {
+		return over;
+	}
+
+	/**
+	 * @return latest state received or null
+	 */
+	public NetState getLatest() {
+		return latest;
+	}
+
+	/**
+	 * @return received states, their sizes in bytes, lost states and states that didn't match their checksum
+	 */
+	public String stats() {
+		return String.format("tick %d, states received %d, bytes per state %.1f, lost %d, mismatches %d",
+				latest == null ? 0 : latest.tick, statesReceived,
+				statesReceived == 0 ? 0.0 : (double) bytesReceived / statesReceived, statesLost, mismatches);
+	}
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		InetSocketAddress host = parseAddress(args.length > 0 ? args[0] : "localhost");
+		long seconds = args.length > 1 ? Long.parseLong(args[1]) : 60;
+
+		VersusClient client = new VersusClient(host);
+		Random rand = new Random(2);
+		PlayerInput[] inputs = PlayerInput.values();
+		final long step = DELAY * 1_000_000L;
+		long nextTick = System.nanoTime();
+		long end = nextTick + seconds * 1_000_000_000L;
+		long ticks = 0;
+		while (!client.isOver() && System.nanoTime() - end < 0) {
+			if (rand.nextInt(25) == 0)
+				client.input(inputs[rand.nextInt(inputs.length)]);
+			client.tick();
+			if (++ticks % (1000 / DELAY) == 0)
+				System.out.println(client.stats());
+			nextTick += step;
+			LockSupport.parkNanos(nextTick - System.nanoTime());
+		}
+		client.close();
+		System.out.println(client.stats());
+	}
+}
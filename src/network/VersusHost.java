@@ -0,0 +1,377 @@
+package network;
+
+import game_engine.EventBatch;
+import game_engine.EventBus;
+import game_engine.FrameProfiler;
+import game_engine.GameEvent;
+import game_engine.GameEventListener;
+import game_engine.GameSession;
+import game_engine.GameWorld;
+import game_engine.PlayerInput;
+import game_engine.SnapshotBuffer;
+import game_objects.Sprite;
+import game_objects.map_objects.powerups.PowerUp;
+import game_objects.map_objects.turf.Explosion;
+import game_objects.movables.Bullet;
+import game_objects.movables.Tank;
+import map_tools.Level;
+import map_tools.Map;
+import resources_classes.SpriteAtlas;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import static game_content.GameField.DELAY;
+
+/**
+ * Host of a versus game. Runs the world with two players, the local one is the first, and sends its state to the
+ * client every tick as the difference from the latest state the client has confirmed. Inputs of the second player
+ * come from the client. The world doesn't advance until the client has joined.
+ * <p>
+ * Usage without a display: {@code VersusHost [port] [level] [seconds]}, the local player moves at random.
+ */
+public class VersusHost implements GameSession, GameEventListener {
+
+	/**
+	 * System property with the port the game window hosts a versus game on
+	 */
+	public static final String HOST_PROPERTY = "tankwar.host";
+	/**
+	 * States the host keeps sending after the game has ended, in case the last ones are lost
+	 */
+	private static final int FINAL_STATES = 3;
+
+	private final GameWorld world;
+	private final DatagramChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(Protocol.MAX_DATAGRAM);
+	private final BitWriter bits = new BitWriter(1024);
+	private final NetState levelStart = new NetState();
+	private final NetState[] history = new NetState[Protocol.HISTORY];
+	private final NetState outgoing = new NetState();
+	/**
+	 * Ids of the sprites of the last state and the one being captured. A sprite that leaves the world loses its id,
+	 * so a pooled bullet that is used again gets a new one
+	 */
+	private IdentityHashMap<Sprite, Integer> ids = new IdentityHashMap<>();
+	private IdentityHashMap<Sprite, Integer> previousIds = new IdentityHashMap<>();
+	private int nextId = 1;
+	private final PlayerInput[] inputValues = PlayerInput.values();
+
+	private SocketAddress client;
+	/**
+	 * Latest tick the client has, 0 if it needs the whole state
+	 */
+	private int clientAck;
+	/**
+	 * Sequence number of the next input of the client
+	 */
+	private int nextInput;
+	private long lastHeard;
+	private boolean disconnected;
+
+	private long statesSent;
+	private long bytesSent;
+	private int largestState;
+
+	/**
+	 * @param map      new map of the level, nobody else may use it
+	 * @param respawns respawns every player has at the start of the level
+	 * @param port     UDP port to wait for the client on
+	 * @throws IOException if the port can't be opened
+	 */
+	public VersusHost(Level level, Map map, int respawns, int port) throws IOException {
+		world = new GameWorld(level, map, 2, respawns,
+				Long.getLong(GameWorld.SEED_PROPERTY, new Random().nextLong()));
+		String replayPath = System.getProperty(GameWorld.REPLAY_PROPERTY);
+		if (replayPath != null)
+			world.startRecording(new File(replayPath));
+		world.startCsvFromProperty();
+		world.getEvents().subscribe(this);
+		for (int i = 0; i < history.length; i++)
+			history[i] = new NetState();
+		levelStart.resetToLevel(level.ordinal());
+		channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.bind(new InetSocketAddress(port));
+	}
+
+	@Override
+	public void tick() {
+		receive();
+		if (client == null || disconnected || world.isOver())
+			return;
+		if (System.currentTimeMillis() - lastHeard > Protocol.TIMEOUT_MILLIS) {
+			clientLeft();
+			return;
+		}
+		NetState state = history[(int) ((world.getTick() + 1) % Protocol.HISTORY)];
+		state.clearSprites();
+		world.tick();
+		capture(state);
+		send(state);
+	}
+
+	/**
+	 * Copy what the client needs from the world into the state. The events were collected during the tick
+	 */
+	private void capture(NetState state) {
+		state.tick = world.getTick();
+		state.level = levelStart.level;
+		state.flags = (world.isTimeStopped() ? NetState.TIME_STOPPED : 0)
+				| (world.getBase().isDefeated() ? NetState.BASE_DEFEATED : 0)
+				| (world.isOver() ? NetState.OVER : 0);
+		for (int p = 0; p < NetState.PLAYERS; p++)
+			state.respawns[p] = world.getRespawns(p);
+		state.nextInput = nextInput;
+		//Same order as the snapshots of the world
+		add(state, world.getBase());
+		for (Tank t : world.getTanks())
+			add(state, t);
+		state.coverIndex = state.size;
+		for (Bullet b : world.getBullets())
+			add(state, b);
+		for (PowerUp p : world.getPowerUps())
+			add(state, p);
+		for (Explosion e : world.getExplosions())
+			add(state, e);
+		world.getMap().copyTiles(state.kinds, state.bricks);
+
+		IdentityHashMap<Sprite, Integer> swap = previousIds;
+		previousIds = ids;
+		ids = swap;
+		ids.clear();
+	}
+
+	private void add(NetState state, Sprite sprite) {
+		if (!sprite.isVisible() || sprite.getImage() == null)
+			return;
+		int image = SpriteAtlas.idOf(sprite.getImage());
+		if (image < 0)
+			return;
+		Integer id = previousIds.get(sprite);
+		if (id == null)
+			id = nextId++;
+		if (state.addSprite(id, image, sprite.getX(), sprite.getY()))
+			ids.put(sprite, id);
+	}
+
+	@Override
+	public void onEvents(EventBatch events) {
+		NetState state = history[(int) (world.getTick() % Protocol.HISTORY)];
+		for (int i = 0; i < events.size(); i++) {
+			GameEvent type = events.getType(i);
+			//Tiles and respawns are part of the state anyway
+			if (type != GameEvent.BRICK_DESTROYED && type != GameEvent.RESPAWNS_CHANGED)
+				state.addEvent(world.getTick(), type, events.getValue(i));
+		}
+	}
+
+	/**
+	 * Send the state as the difference from the latest state the client has, with all the events since then
+	 */
+	private void send(NetState state) {
+		NetState baseline = baseline(state.tick);
+		outgoing.copyFrom(state);
+		outgoing.eventCount = 0;
+		for (long t = Math.max(baseline.tick + 1, state.tick - Protocol.HISTORY + 1); t <= state.tick; t++) {
+			NetState past = history[(int) (t % Protocol.HISTORY)];
+			if (past.tick != t)
+				continue;
+			for (int i = 0; i < past.eventCount; i++)
+				outgoing.addEvent(past.eventTicks[i], past.eventTypes[i], past.eventValues[i]);
+		}
+		bits.reset();
+		StateCodec.write(outgoing, baseline, bits);
+
+		buffer.clear();
+		buffer.put(Protocol.STATE);
+		buffer.put((byte) state.level);
+		buffer.putInt((int) state.tick);
+		buffer.putInt((int) baseline.tick);
+		buffer.putInt(state.checksum());
+		bits.copyTo(buffer);
+		buffer.flip();
+		int length = buffer.remaining();
+		try {
+			channel.send(buffer, client);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		statesSent++;
+		bytesSent += length;
+		largestState = Math.max(largestState, length);
+	}
+
+	/**
+	 * @return state the client has confirmed or the start of the level if it is too old
+	 */
+	private NetState baseline(long tick) {
+		if (clientAck > 0 && tick - clientAck < Protocol.HISTORY) {
+			NetState state = history[clientAck % Protocol.HISTORY];
+			if (state.tick == clientAck)
+				return state;
+		}
+		return levelStart;
+	}
+
+	private void receive() {
+		try {
+			buffer.clear();
+			SocketAddress from;
+			while ((from = channel.receive(buffer)) != null) {
+				buffer.flip();
+				try {
+					handle(from);
+				} catch (BufferUnderflowException e) {
+					//Broken packet, the next one will do
+				}
+				buffer.clear();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void handle(SocketAddress from) {
+		byte type = buffer.get();
+		if (client == null) {
+			if (type == Protocol.HELLO && buffer.get() == Protocol.VERSION) {
+				client = from;
+				lastHeard = System.currentTimeMillis();
+				System.out.println("Player 2 has joined from " + from);
+			}
+			return;
+		}
+		if (!client.equals(from))
+			return;
+		lastHeard = System.currentTimeMillis();
+		if (type != Protocol.INPUT)
+			return;
+		clientAck = buffer.getInt();
+		int first = buffer.getInt();
+		int count = buffer.get() & 0xFF;
+		for (int i = 0; i < count; i++) {
+			int ordinal = buffer.get();
+			if (first + i == nextInput && ordinal >= 0 && ordinal < inputValues.length) {
+				world.input(1, inputValues[ordinal]);
+				nextInput++;
+			}
+		}
+	}
+
+	/**
+	 * Client went silent, the game ends the same way as when it is lost
+	 */
+	private void clientLeft() {
+		System.out.println("Player 2 has left");
+		disconnected = true;
+		EventBus events = world.getEvents();
+		events.publish(GameEvent.GAME_LOST);
+		events.dispatch();
+	}
+
+	/**
+	 * Apply the input of the local player on the next tick
+	 */
+	@Override
+	public void input(PlayerInput input) {
+		world.input(0, input);
+	}
+
+	@Override
+	public SnapshotBuffer getSnapshots() {
+		return world.getSnapshots();
+	}
+
+	@Override
+	public EventBus getEvents() {
+		return world.getEvents();
+	}
+
+	@Override
+	public FrameProfiler getProfiler() {
+		return world.getProfiler();
+	}
+
+	/**
+	 * Send the last state a few more times, so the client sees how the game ended, and close the port
+	 */
+	@Override
+	public void close() {
+		if (client != null && !disconnected && world.getTick() > 0) {
+			NetState state = history[(int) (world.getTick() % Protocol.HISTORY)];
+			for (int i = 0; i < FINAL_STATES; i++)
+				send(state);
+		}
+		world.close();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	public GameWorld getWorld() {
+		return world;
+	}
+
+	/**
+	 * @return true once the client has joined
+	 */
+	public boolean isConnected() {
+		return client != null;
+	}
+
+	/**
+	 * @return true if the game has ended or the client has left
+	 */
+	@Override
+	public boolean isOver() {
+		return disconnected || world.isOver();
+	}
+
+	/**
+	 * @return sent states and their sizes in bytes
+	 */
+	public String stats() {
+		return String.format("tick %d, states sent %d, bytes per state %.1f, largest %d",
+				world.getTick(), statesSent, statesSent == 0 ? 0.0 : (double) bytesSent / statesSent, largestState);
+	}
+
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : Protocol.DEFAULT_PORT;
+		Level level = args.length > 1 ? Level.valueOf(args[1]) : Level.FIRST;
+		long seconds = args.length > 2 ? Long.parseLong(args[2]) : 60;
+
+		VersusHost host = new VersusHost(level, Map.getLevelMap(level), 3, port);
+		System.out.println("Waiting for player 2 on port " + port);
+		Random rand = new Random(1);
+		PlayerInput[] inputs = PlayerInput.values();
+		final long step = DELAY * 1_000_000L;
+		long nextTick = System.nanoTime();
+		long end = Long.MAX_VALUE;
+		while (!host.isOver() && System.nanoTime() - end < 0) {
+			if (host.isConnected() && end == Long.MAX_VALUE)
+				end = System.nanoTime() + seconds * 1_000_000_000L;
+			if (rand.nextInt(25) == 0)
+				host.input(inputs[rand.nextInt(inputs.length)]);
+			host.tick();
+			if (host.getWorld().getTick() > 0 && host.getWorld().getTick() % (1000 / DELAY) == 0)
+				System.out.println(host.stats());
+			nextTick += step;
+			LockSupport.parkNanos(nextTick - System.nanoTime());
+		}
+		host.close();
+		System.out.println(host.stats() + ", checksum " + host.getWorld().checksum());
+	}
+}
@@ -16,8 +16,6 @@ public class GameSound{
     public static final double boostSoundVolume = 1;
     public static final double stopTimeSoundVolume = 1;
 
-    public static final AudioClip[] stopTimeSound = {getStopTimeSoundInstance(), getStopTimeSoundCountInstance()};
-
     private static final AudioClip[] battleMusic = {
             new AudioClip(Paths.get("resources/music/battle/jojo_op1_8bit.mp3").toUri().toString()),
             new AudioClip(Paths.get("resources/music/battle/jojo_op2_8bit.mp3").toUri().toString()),
@@ -61,30 +59,6 @@ public class GameSound{
     }
 
 
-    public static AudioClip getStopTimeSoundInstance(){
-        AudioClip audioClip = new AudioClip(Paths.get("resources/music/sounds/ZA_WARUDO.mp3").toUri().toString());
-        audioClip.setVolume(stopTimeSoundVolume);
-        return audioClip;
-    }
-
-    public static AudioClip getStopTimeSoundCountInstance(){
-        AudioClip audioClip = new AudioClip(Paths.get("resources/music/sounds/ZA_WARUDO_COUNT.mp3").toUri().toString());
-        audioClip.setVolume(stopTimeSoundVolume);
-        return audioClip;
-    }
-
-
-    public static AudioClip getExplosionSoundInstance(){
-        AudioClip audioClip = new AudioClip(Paths.get("resources/music/sounds/explosion.wav").toUri().toString());
-        audioClip.setVolume(explosionSoundVolume);
-        return audioClip;
-    }
-    public static AudioClip getBoostSoundInstance(){
-        AudioClip audioClip = new AudioClip(Paths.get("resources/music/sounds/boost.mp3").toUri().toString());
-        audioClip.setVolume(boostSoundVolume);
-        return audioClip;
-    }
-
     public static AudioClip getWinMusicInstance(){
         AudioClip audioClip = new AudioClip(Paths.get("resources/music/game_end/we_are_the_champions.mp3").toUri().toString());
         audioClip.setVolume(1);
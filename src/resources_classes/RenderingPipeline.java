@@ -0,0 +1,88 @@
+package resources_classes;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Images compatible with the screen and the name of the Java2D pipeline that draws them.
+ * <p>
+ * Compatible images have the pixel layout of the screen, so Java2D can cache them in video memory and blit them
+ * without converting every pixel. Without a screen plain ARGB images are used.
+ */
+public final class RenderingPipeline {
+
+	private RenderingPipeline() {
+	}
+
+	/**
+	 * @return configuration of the default screen or null if there is no screen
+	 */
+	public static GraphicsConfiguration configuration() {
+		if (GraphicsEnvironment.isHeadless())
+			return null;
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+	}
+
+	/**
+	 * Create an image the screen draws fast
+	 *
+	 * @param transparency one of the {@link Transparency} constants
+	 * @return empty image
+	 */
+	public static BufferedImage createImage(int width, int height, int transparency) {
+		GraphicsConfiguration configuration = configuration();
+		if (configuration == null)
+			return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+					? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+		return configuration.createCompatibleImage(width, height, transparency);
+	}
+
+	/**
+	 * Copy the image into a compatible one, if it isn't compatible already
+	 *
+	 * @param image image to convert
+	 * @return compatible image with the same pixels
+	 */
+	public static BufferedImage toCompatible(BufferedImage image) {
+		GraphicsConfiguration configuration = configuration();
+		if (image == null || configuration == null
+				|| image.getColorModel().equals(configuration.getColorModel(image.getTransparency())))
+			return image;
+		BufferedImage compatible = configuration.createCompatibleImage(image.getWidth(), image.getHeight(),
+				image.getTransparency());
+		Graphics2D g = compatible.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return compatible;
+	}
+
+	/**
+	 * Name of the pipeline Java2D draws with. Pipelines are chosen with system properties like
+	 * {@code -Dsun.java2d.opengl=true} or {@code -Dsun.java2d.xrender=true}
+	 *
+	 * @param configuration configuration of the screen the game is drawn on, may be null
+	 * @return short description for the profiler overlay
+	 */
+	public static String describe(GraphicsConfiguration configuration) {
+		if (configuration == null)
+			return "pipeline: none (headless)";
+		String name = configuration.getClass().getName();
+		String pipeline;
+		if (name.contains("opengl") || name.contains("GLX") || name.contains("CGL"))
+			pipeline = "OpenGL";
+		else if (name.contains(".xr."))
+			pipeline = "XRender";
+		else if (name.contains("d3d"))
+			pipeline = "Direct3D";
+		else if (name.contains("Win32"))
+			pipeline = "GDI";
+		else
+			pipeline = "software (" + name.substring(name.lastIndexOf('.') + 1) + ")";
+		VolatileImage probe = configuration.createCompatibleVolatileImage(1, 1);
+		boolean accelerated = probe.getCapabilities().isAccelerated();
+		probe.flush();
+		return "pipeline: " + pipeline + (accelerated ? ", accelerated" : ", not accelerated")
+				+ (configuration.getBufferCapabilities().isPageFlipping() ? ", page flipping" : "");
+	}
+}
@@ -1,13 +1,71 @@
 package resources_classes;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ScaledImage {
 
     public static final Color darkRed = new Color(172,17,21);
+    /**
+     * Scaled images by path and size, every panel of the same kind shows the same images
+     */
+    private static final ConcurrentHashMap<String, Image> images = new ConcurrentHashMap<>();
+
+    /**
+     * Read the image and scale it once into a compatible image. Animated images are scaled by the toolkit on the fly,
+     * because a still image would keep only their first frame
+     * @param path path to an image
+     * @return shared scaled image, must not be modified
+     */
     public static Image create(String path, int width, int height){
-        Image backgroundImage = Toolkit.getDefaultToolkit().createImage(path);
-        Image scaledImage = backgroundImage.getScaledInstance(width,height,Image.SCALE_DEFAULT);
+        return images.computeIfAbsent(path + '@' + width + 'x' + height, key -> {
+            if (isAnimated(path))
+                return Toolkit.getDefaultToolkit().createImage(path).getScaledInstance(width, height, Image.SCALE_FAST);
+            return scale(path, width, height);
+        });
+    }
+
+    private static boolean isAnimated(String path){
+        Iterator<ImageReader> readers = ImageIO.getImageReadersBySuffix(path.substring(path.lastIndexOf('.') + 1));
+        if (!readers.hasNext())
+            return false;
+        ImageReader reader = readers.next();
+        try (ImageInputStream input = ImageIO.createImageInputStream(new File(path))) {
+            if (input == null)
+                return false;
+            reader.setInput(input);
+            return reader.getNumImages(true) > 1;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static BufferedImage scale(String path, int width, int height){
+        BufferedImage source;
+        try {
+            source = ImageIO.read(new File(path));
+        } catch (IOException e) {
+            e.printStackTrace();
+            source = null;
+        }
+        int transparency = source == null ? Transparency.TRANSLUCENT : source.getTransparency();
+        BufferedImage scaledImage = RenderingPipeline.createImage(width, height, transparency);
+        if (source != null) {
+            Graphics2D g = scaledImage.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+        }
         return scaledImage;
     }
 }
@@ -0,0 +1,98 @@
+package resources_classes;
+
+import javafx.scene.media.AudioClip;
+
+import java.nio.file.Paths;
+
+/**
+ * Short game sounds played through a fixed number of preloaded voices.
+ * <p>
+ * Every effect is decoded once into a few voices. When all the voices of an effect are busy, the one that was started
+ * first is stopped and reused, so heavy firefights never create new clips.
+ */
+public final class SoundEffects {
+
+	public enum Effect {
+		EXPLOSION("resources/music/sounds/explosion.wav", GameSound.explosionSoundVolume, 4),
+		BOOST("resources/music/sounds/boost.mp3", GameSound.boostSoundVolume, 1),
+		TIME_STOP("resources/music/sounds/ZA_WARUDO.mp3", GameSound.stopTimeSoundVolume, 1),
+		TIME_STOP_COUNT("resources/music/sounds/ZA_WARUDO_COUNT.mp3", GameSound.stopTimeSoundVolume, 1);
+
+		private final String path;
+		private final double volume;
+		private final int voices;
+
+		Effect(String path, double volume, int voices) {
+			this.path = path;
+			this.volume = volume;
+			this.voices = voices;
+		}
+	}
+
+	/**
+	 * Voices of every effect
+	 */
+	private static AudioClip[][] voices;
+	/**
+	 * When every voice was started, used to steal the oldest one
+	 */
+	private static long[][] startTimes;
+
+	private SoundEffects() {
+	}
+
+	/**
+	 * Decode all the effects. Called on startup, otherwise effects are decoded on the first play
+	 */
+	public static synchronized void preload() {
+		if (voices != null)
+			return;
+		Effect[] effects = Effect.values();
+		voices = new AudioClip[effects.length][];
+		startTimes = new long[effects.length][];
+		for (Effect effect : effects) {
+			String uri = Paths.get(effect.path).toUri().toString();
+			AudioClip[] clips = new AudioClip[effect.voices];
+			for (int i = 0; i < clips.length; i++) {
+				clips[i] = new AudioClip(uri);
+				clips[i].setVolume(effect.volume);
+			}
+			voices[effect.ordinal()] = clips;
+			startTimes[effect.ordinal()] = new long[effect.voices];
+		}
+	}
+
+	/**
+	 * Play the effect on a free voice, or on the oldest one if all of them are busy
+	 *
+	 * @param effect effect to play
+	 */
+	public static synchronized void play(Effect effect) {
+		preload();
+		AudioClip[] clips = voices[effect.ordinal()];
+		long[] started = startTimes[effect.ordinal()];
+		int voice = 0;
+		for (int i = 0; i < clips.length; i++) {
+			if (!clips[i].isPlaying()) {
+				voice = i;
+				break;
+			}
+			if (started[i] < started[voice])
+				voice = i;
+		}
+		clips[voice].stop();
+		clips[voice].play();
+		started[voice] = System.nanoTime();
+	}
+
+	/**
+	 * Stop all the voices of the effect
+	 *
+	 * @param effect effect to stop
+	 */
+	public static synchronized void stop(Effect effect) {
+		preload();
+		for (AudioClip clip : voices[effect.ordinal()])
+			clip.stop();
+	}
+}
@@ -0,0 +1,244 @@
+package resources_classes;
+
+import game_content.GameField;
+import game_objects.movables.Direction;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of pre-scaled sprites.
+ * <p>
+ * Every image is read from disk and scaled only once, all the game objects that use the same path share the same
+ * instance. Images returned from here are shared, so they should be treated as immutable. They are compatible with
+ * the screen, see {@link RenderingPipeline}, and are never drawn into after loading, so Java2D keeps them accelerated.
+ */
+public final class SpriteAtlas {
+
+	/**
+	 * Folders with in-game sprites that are loaded on startup
+	 */
+	private static final String[] PRELOAD_FOLDERS = {
+			"resources/sprites/map",
+			"resources/sprites/bullet",
+			"resources/sprites/enemy_tank",
+			"resources/sprites/player_tank/lvl1",
+			"resources/sprites/player_tank/lvl2",
+			"resources/sprites/player_tank/lvl3",
+			"resources/sprites/powerups"
+	};
+
+	/**
+	 * Folder with the sprites that have recolored versions
+	 */
+	private static final String TINTED_FOLDER = "resources/sprites/player_tank";
+	/**
+	 * Names of the directions in the file names of the directional sprites, in the same order as the directions
+	 */
+	private static final String[] DIRECTION_NAMES = directionNames();
+
+	/**
+	 * Scaled images by scale and then by path
+	 */
+	private static final ConcurrentHashMap<Integer, ConcurrentHashMap<String, BufferedImage>> images = new ConcurrentHashMap<>();
+	/**
+	 * Directional images by path pattern. Directions are in the same order as in {@link Direction}
+	 */
+	private static final ConcurrentHashMap<String, BufferedImage[]> directions = new ConcurrentHashMap<>();
+	/**
+	 * Recolored images by path, used for the second player
+	 */
+	private static final ConcurrentHashMap<String, BufferedImage> tinted = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<String, BufferedImage[]> tintedDirections = new ConcurrentHashMap<>();
+	/**
+	 * Numbers of the in-game sprites and the sprites by number, see {@link #idOf(Image)}
+	 */
+	private static volatile java.util.Map<Image, Integer> ids;
+	private static volatile List<BufferedImage> byId;
+
+	private SpriteAtlas() {
+	}
+
+	private static String[] directionNames() {
+		Direction[] values = Direction.values();
+		String[] names = new String[values.length];
+		for (int i = 0; i < values.length; i++)
+			names[i] = values[i].name().toLowerCase(Locale.ROOT);
+		return names;
+	}
+
+	/**
+	 * Get image scaled with the game scale
+	 *
+	 * @param path path to an image
+	 * @return shared scaled image
+	 */
+	public static BufferedImage get(String path) {
+		return get(path, GameField.SCALE);
+	}
+
+	/**
+	 * Get image scaled with the given scale. Image is loaded only on the first call
+	 *
+	 * @param path  path to an image
+	 * @param scale scale of an image
+	 * @return shared scaled image
+	 */
+	public static BufferedImage get(String path, int scale) {
+		return images.computeIfAbsent(scale, s -> new ConcurrentHashMap<>())
+				.computeIfAbsent(path, p -> scale(read(p), scale));
+	}
+
+	/**
+	 * Get images for all the directions. String should be in such form: "path/image_name_%s.png", where %s is a place where direction goes
+	 *
+	 * @param pattern path pattern
+	 * @return shared array of images in such an order: west, east, north, south. Must not be modified
+	 */
+	public static BufferedImage[] getDirections(String pattern) {
+		return directions.computeIfAbsent(pattern, p -> {
+			BufferedImage[] result = new BufferedImage[DIRECTION_NAMES.length];
+			for (int i = 0; i < DIRECTION_NAMES.length; i++)
+				result[i] = get(String.format(p, DIRECTION_NAMES[i]));
+			return result;
+		});
+	}
+
+	/**
+	 * Get image with red and green swapped, so the tank of the second player differs from the first one
+	 *
+	 * @param path path to an image
+	 * @return shared recolored scaled image
+	 */
+	public static BufferedImage getTinted(String path) {
+		return tinted.computeIfAbsent(path, p -> {
+			BufferedImage source = get(p);
+			if (source == null)
+				return null;
+			BufferedImage result = RenderingPipeline.createImage(source.getWidth(), source.getHeight(), source.getTransparency());
+			for (int y = 0; y < source.getHeight(); y++) {
+				for (int x = 0; x < source.getWidth(); x++) {
+					int argb = source.getRGB(x, y);
+					result.setRGB(x, y, argb & 0xFF0000FF | (argb & 0xFF00) << 8 | (argb & 0xFF0000) >> 8);
+				}
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Same as {@link #getDirections(String)} for the recolored images
+	 */
+	public static BufferedImage[] getTintedDirections(String pattern) {
+		return tintedDirections.computeIfAbsent(pattern, p -> {
+			BufferedImage[] result = new BufferedImage[DIRECTION_NAMES.length];
+			for (int i = 0; i < DIRECTION_NAMES.length; i++)
+				result[i] = getTinted(String.format(p, DIRECTION_NAMES[i]));
+			return result;
+		});
+	}
+
+	/**
+	 * Load all the in-game sprites, so level loading and firing never touch the disk
+	 */
+	public static void preload() {
+		for (String path : preloadedPaths())
+			get(path);
+	}
+
+	/**
+	 * Paths of the in-game sprites in the same order on every machine
+	 */
+	private static List<String> preloadedPaths() {
+		List<String> paths = new ArrayList<>();
+		for (String folder : PRELOAD_FOLDERS) {
+			File[] files = new File(folder).listFiles();
+			if (files == null)
+				continue;
+			Arrays.sort(files);
+			for (File file : files) {
+				String name = file.getName().toLowerCase(Locale.ROOT);
+				if (name.endsWith(".png") || name.endsWith(".gif"))
+					paths.add(folder + "/" + file.getName());
+			}
+		}
+		return paths;
+	}
+
+	/**
+	 * Number of an in-game sprite. Sprites are numbered in the order of their paths, recolored ones after the plain
+	 * ones, so two games with the same resources give the same numbers and can send sprites over the network by number
+	 *
+	 * @param image image from this atlas
+	 * @return number of the image or -1 if it isn't an in-game sprite
+	 */
+	public static int idOf(Image image) {
+		Integer id = registry().get(image);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * @param id number from {@link #idOf(Image)}
+	 * @return the sprite or null if there is no such number
+	 */
+	public static BufferedImage byId(int id) {
+		registry();
+		return id >= 0 && id < byId.size() ? byId.get(id) : null;
+	}
+
+	private static synchronized java.util.Map<Image, Integer> registry() {
+		if (ids == null) {
+			List<BufferedImage> images = new ArrayList<>();
+			List<String> paths = preloadedPaths();
+			for (String path : paths)
+				images.add(get(path));
+			for (String path : paths)
+				if (path.startsWith(TINTED_FOLDER))
+					images.add(getTinted(path));
+			java.util.Map<Image, Integer> result = new IdentityHashMap<>();
+			for (int i = 0; i < images.size(); i++)
+				result.putIfAbsent(images.get(i), i);
+			byId = images;
+			ids = result;
+		}
+		return ids;
+	}
+
+	/**
+	 * scale image
+	 *
+	 * @param sbi   image to scale
+	 * @param scale scale
+	 * @return scaled compatible image
+	 */
+	public static BufferedImage scale(BufferedImage sbi, int scale) {
+		BufferedImage dbi = null;
+		if (sbi != null) {
+			dbi = RenderingPipeline.createImage(sbi.getWidth() * scale, sbi.getHeight() * scale, sbi.getTransparency());
+			Graphics2D g = dbi.createGraphics();
+			AffineTransform at = AffineTransform.getScaleInstance(scale, scale);
+			g.drawRenderedImage(sbi, at);
+			g.dispose();
+		}
+		return dbi;
+	}
+
+	private static BufferedImage read(String path) {
+		try {
+			return ImageIO.read(new File(path));
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package server;
+
+import game_engine.FrameProfiler;
+import game_engine.GameSession;
+import game_engine.RollingHistogram;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static game_content.GameField.DELAY;
+
+/**
+ * One game on a {@link MatchServer}. The server runs it every {@link game_content.GameField#DELAY} milliseconds on
+ * one of its threads, never on two at once, so the session belongs to the match alone. The match ends when the game
+ * is over, when it is stopped or when a tick fails, and then closes the session.
+ */
+public class Match implements Runnable {
+
+	private static final double[] PERCENTILES = {50, 99, 100};
+	/**
+	 * Weight of the newest tick in {@link #recentLateness} is 1 / 2^shift
+	 */
+	private static final int RECENT_SHIFT = 4;
+	/**
+	 * First ticks of a match load its resources, so they don't count for admission
+	 */
+	private static final int WARM_UP_TICKS = 1000 / DELAY;
+
+	private final int id;
+	private final String name;
+	private final GameSession session;
+	private final MatchServer server;
+	private final RollingHistogram tickTimes = new RollingHistogram(FrameProfiler.WINDOW);
+	/**
+	 * How much later than planned the ticks have started
+	 */
+	private final RollingHistogram lateness = new RollingHistogram(FrameProfiler.WINDOW);
+	private final CountDownLatch finished = new CountDownLatch(1);
+	private volatile ScheduledFuture<?> future;
+	private volatile boolean stopRequested;
+	private volatile long ticks;
+	/**
+	 * Moving average of the lateness, cheap enough to check on every admission
+	 */
+	private volatile long recentLateness;
+	private long plannedTick;
+
+	Match(int id, String name, GameSession session, MatchServer server) {
+		this.id = id;
+		this.name = name;
+		this.session = session;
+		this.server = server;
+	}
+
+	/**
+	 * Called before the match is scheduled
+	 *
+	 * @param firstTick time the first tick is planned for, see {@link System#nanoTime()}
+	 */
+	void plan(long firstTick) {
+		plannedTick = firstTick;
+	}
+
+	/**
+	 * @param future ticks of the match on the scheduler, cancelled once the match ends
+	 */
+	void scheduled(ScheduledFuture<?> future) {
+		this.future = future;
+		if (isFinished())
+			future.cancel(false);
+	}
+
+	@Override
+	public void run() {
+		if (isFinished())
+			return;
+		long start = System.nanoTime();
+		long late = Math.max(0, start - plannedTick);
+		lateness.record(late);
+		if (ticks >= WARM_UP_TICKS)
+			recentLateness += late - recentLateness >> RECENT_SHIFT;
+		plannedTick += TimeUnit.MILLISECONDS.toNanos(DELAY);
+		try {
+			if (stopRequested || session.isOver()) {
+				finish();
+				return;
+			}
+			session.tick();
+			ticks++;
+		} catch (RuntimeException e) {
+			//Only this match is lost
+			e.printStackTrace();
+			finish();
+			return;
+		}
+		tickTimes.record(System.nanoTime() - start);
+	}
+
+	private void finish() {
+		try {
+			session.close();
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+		finished.countDown();
+		ScheduledFuture<?> future = this.future;
+		if (future != null)
+			future.cancel(false);
+		server.finished(this);
+	}
+
+	/**
+	 * End the match on its next tick
+	 */
+	public void stop() {
+		stopRequested = true;
+	}
+
+	/**
+	 * @return true if the match has ended in time
+	 */
+	public boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException {
+		return finished.await(timeout, unit);
+	}
+
+	public boolean isFinished() {
+		return finished.getCount() == 0;
+	}
+
+	/**
+	 * @return nanoseconds the last ticks started late on average
+	 */
+	public long getRecentLateness() {
+		return recentLateness;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public GameSession getSession() {
+		return session;
+	}
+
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * @return ticks and how long they took and how late they started over the last {@link FrameProfiler#WINDOW}
+	 * ticks
+	 */
+	public String stats() {
+		long[] times = new long[PERCENTILES.length];
+		long[] late = new long[PERCENTILES.length];
+		tickTimes.percentiles(PERCENTILES, times);
+		lateness.percentiles(PERCENTILES, late);
+		return String.format("#%-4d %-12s %7d ticks, tick p50 %5d us, p99 %5d us, max %6d us, late p99 %4.1f ms%s",
+				id, name, ticks, times[0] / 1000, times[1] / 1000, times[2] / 1000, late[1] / 1e6,
+				isFinished() ? ", finished" : "");
+	}
+}
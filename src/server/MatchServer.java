@@ -0,0 +1,209 @@
+package server;
+
+import game_engine.GameSession;
+import game_engine.GameWorld;
+import map_tools.Level;
+import map_tools.Map;
+import network.VersusHost;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static game_content.GameField.DELAY;
+
+/**
+ * Runs many games in one process without a display. All the matches share a few threads: every match is a periodic
+ * task of one scheduler, so an idle match costs nothing but its memory. Every match has its own session and nothing
+ * else of the game is shared between them but the read-only sprites and levels.
+ * <p>
+ * New matches are refused while the server is full, when the ticks of the running matches already start late or
+ * while it is draining. Draining lets the running matches end on their own for some time and then stops the rest.
+ * <p>
+ * Usage: {@code MatchServer [matches] [seconds] [threads] [first port]}. Without a port the matches are played by
+ * the enemies alone, with it every match is a {@link VersusHost} on its own port.
+ */
+public class MatchServer {
+
+	/**
+	 * Matches a server runs at most by default
+	 */
+	public static final int DEFAULT_CAPACITY = 512;
+	/**
+	 * New matches are refused when the ticks of some running match start later than that on average
+	 */
+	private static final long LATENESS_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(DELAY / 2);
+
+	private final ScheduledThreadPoolExecutor scheduler;
+	private final int capacity;
+	private final List<Match> matches = new ArrayList<>();
+	private final AtomicInteger nextId = new AtomicInteger(1);
+	private volatile boolean draining;
+	private long finishedMatches;
+
+	/**
+	 * @param threads  threads the matches are ticked on
+	 * @param capacity matches the server runs at most
+	 */
+	public MatchServer(int threads, int capacity) {
+		this.capacity = capacity;
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory factory = runnable -> {
+			Thread thread = new Thread(runnable, "match-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		scheduler = new ScheduledThreadPoolExecutor(threads, factory);
+		scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Start ticking the session
+	 *
+	 * @param name name of the match in the statistics
+	 * @return the running match
+	 * @throws RejectedExecutionException if the server is full, overloaded or draining. The session is not closed
+	 */
+	public synchronized Match start(String name, GameSession session) {
+		if (draining)
+			throw new RejectedExecutionException("Server is draining");
+		if (matches.size() >= capacity)
+			throw new RejectedExecutionException("Server is full: " + capacity + " matches");
+		if (overloaded())
+			throw new RejectedExecutionException("Server is overloaded, ticks start late");
+		Match match = new Match(nextId.getAndIncrement(), name, session, this);
+		matches.add(match);
+		match.plan(System.nanoTime());
+		match.scheduled(scheduler.scheduleAtFixedRate(match, 0, DELAY, TimeUnit.MILLISECONDS));
+		return match;
+	}
+
+	private boolean overloaded() {
+		for (Match match : matches) {
+			if (match.getRecentLateness() > LATENESS_BUDGET_NANOS)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Called by the match from its thread once it has ended
+	 */
+	synchronized void finished(Match match) {
+		matches.remove(match);
+		finishedMatches++;
+	}
+
+	/**
+	 * Refuse new matches, wait for the running ones to end and stop the ones that don't end in time. The server can't
+	 * be used afterwards
+	 *
+	 * @param timeout how long the matches may go on
+	 * @return true if all the matches ended on their own
+	 */
+	public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+		draining = true;
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		boolean ended = true;
+		for (Match match : getMatches()) {
+			if (!match.awaitFinished(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+				ended = false;
+				match.stop();
+			}
+		}
+		//Stopped matches close their sessions on their next tick
+		for (Match match : getMatches())
+			match.awaitFinished(1, TimeUnit.SECONDS);
+		scheduler.shutdown();
+		scheduler.awaitTermination(1, TimeUnit.SECONDS);
+		return ended;
+	}
+
+	/**
+	 * @return copy of the running matches
+	 */
+	public synchronized List<Match> getMatches() {
+		return new ArrayList<>(matches);
+	}
+
+	public synchronized long getFinishedMatches() {
+		return finishedMatches;
+	}
+
+	public boolean isDraining() {
+		return draining;
+	}
+
+	/**
+	 * @return one line for the server and one for every running match
+	 */
+	public List<String> report() {
+		List<Match> running = getMatches();
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("%d matches running, %d finished, %d threads%s", running.size(),
+				getFinishedMatches(), scheduler.getCorePoolSize(), draining ? ", draining" : ""));
+		for (Match match : running)
+			lines.add(match.stats());
+		return lines;
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		System.setProperty("java.awt.headless", "true");
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		long seconds = args.length > 1 ? Long.parseLong(args[1]) : 30;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		int firstPort = args.length > 3 ? Integer.parseInt(args[3]) : -1;
+
+		MatchServer server = new MatchServer(threads, Math.max(count, DEFAULT_CAPACITY));
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				if (!server.isDraining())
+					server.drain(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+
+		Level[] levels = Level.values();
+		for (int i = 0; i < count; i++) {
+			Level level = levels[i % levels.length];
+			String name = level + (firstPort < 0 ? "" : ":" + (firstPort + i));
+			try {
+				GameSession session = firstPort < 0
+						? new GameWorld(level, Map.getLevelMap(level), 1, 3, i)
+						: new VersusHost(level, Map.getLevelMap(level), 3, firstPort + i);
+				server.start(name, session);
+			} catch (IOException | RejectedExecutionException e) {
+				System.out.println("Match " + name + " not started: " + e.getMessage());
+			}
+		}
+
+		long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		while (System.nanoTime() - end < 0 && !server.getMatches().isEmpty()) {
+			Thread.sleep(Math.min(5000, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()) + 1));
+			System.out.println(server.report().get(0) + ", worst: " + worst(server.getMatches()));
+		}
+		List<Match> running = server.getMatches();
+		boolean ended = server.drain(5, TimeUnit.SECONDS);
+		System.out.println("Drained, all matches ended on their own: " + ended);
+		for (Match match : running)
+			System.out.println(match.stats());
+	}
+
+	/**
+	 * @return statistics of the match whose ticks start the latest
+	 */
+	private static String worst(List<Match> matches) {
+		Match worst = null;
+		for (Match match : matches) {
+			if (worst == null || match.getRecentLateness() > worst.getRecentLateness())
+				worst = match;
+		}
+		return worst == null ? "none" : worst.stats();
+	}
+}